@@ -0,0 +1,253 @@
+/**
+ * The {@code Attacks} class holds, for every square, the squares each kind of {@link Piece} attacks from it.
+ * <p>The tables are built once, when the class is loaded, so finding an attack never walks off the board:
+ * a square near an edge simply has fewer bits set.<br>
+ * Squares are numbered as by {@link Bitboard#square(int, int)}, so row {@code 0} is the back row of {@link PieceColor#Black}.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Attacks {
+	/**
+	 * The direction towards row {@code 0}.
+	 */
+	public static final int north		= 0;
+
+	/**
+	 * The direction towards row {@code 0} and column {@code 7}.
+	 */
+	public static final int northEast	= 1;
+
+	/**
+	 * The direction towards column {@code 7}.
+	 */
+	public static final int east		= 2;
+
+	/**
+	 * The direction towards row {@code 7} and column {@code 7}.
+	 */
+	public static final int southEast	= 3;
+
+	/**
+	 * The direction towards row {@code 7}.
+	 */
+	public static final int south		= 4;
+
+	/**
+	 * The direction towards row {@code 7} and column {@code 0}.
+	 */
+	public static final int southWest	= 5;
+
+	/**
+	 * The direction towards column {@code 0}.
+	 */
+	public static final int west		= 6;
+
+	/**
+	 * The direction towards row {@code 0} and column {@code 0}.
+	 */
+	public static final int northWest	= 7;
+
+	/**
+	 * The change in row of each direction.
+	 */
+	private static final int[] dRows	= {-1, -1, 0, 1, 1, 1, 0, -1};
+
+	/**
+	 * The change in column of each direction.
+	 */
+	private static final int[] dColumns	= {0, 1, 1, 1, 0, -1, -1, -1};
+
+	/**
+	 * The squares a {@link Knight} attacks from each square.
+	 */
+	private static final long[] knight	= new long[64];
+
+	/**
+	 * The squares a {@link King} attacks from each square.
+	 */
+	private static final long[] king	= new long[64];
+
+	/**
+	 * The squares a {@link Pawn} of each {@link PieceColor} attacks from each square.
+	 */
+	private static final long[][] pawn	= new long[2][64];
+
+	/**
+	 * The squares in each direction from each square, up to the edge of the board.
+	 */
+	private static final long[][] rays	= new long[8][64];
+
+	/**
+	 * The squares strictly between every two squares that share a row, column or diagonal.
+	 */
+	private static final long[][] between	= new long[64][64];
+
+	/**
+	 * The row, column or diagonal through every two squares that share one, from edge to edge.
+	 */
+	private static final long[][] lines		= new long[64][64];
+
+	static {
+		int[] knightRows = {-2, -1, 1, 2, 2, 1, -1, -2}, knightColumns = {1, 2, 2, 1, -1, -2, -2, -1};
+		for (int square = 0; square < 64; square++) {
+			int row = square >>> 3, column = square & 7;
+			for (int i = 0; i < 8; i++) {
+				knight[square]	|= bit(row + knightRows[i], column + knightColumns[i]);
+				king[square]	|= bit(row + dRows[i], column + dColumns[i]);
+				for (int r = row + dRows[i], c = column + dColumns[i]; r >= 0 && r < 8 && c >= 0 && c < 8; r += dRows[i], c += dColumns[i]) {
+					rays[i][square] |= bit(r, c);
+				}
+			} pawn[PieceColor.White.ordinal()][square]	= bit(row - 1, column - 1) | bit(row - 1, column + 1);
+			pawn[PieceColor.Black.ordinal()][square]	= bit(row + 1, column - 1) | bit(row + 1, column + 1);
+		}
+
+		//Every ray is complete, so the squares past each target can be taken away
+		for (int from = 0; from < 64; from++) {
+			for (int direction = 0; direction < 8; direction++) {
+				long line = rays[direction][from] | rays[(direction + 4) & 7][from] | 1L << from;
+				for (long targets = rays[direction][from]; targets != 0; targets &= targets - 1) {
+					int to = Long.numberOfTrailingZeros(targets);
+					between[from][to]	= rays[direction][from] & ~rays[direction][to] & ~(1L << to);
+					lines[from][to]		= line;
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@code Attacks} only has static methods.
+	 */
+	private Attacks() {}
+
+	/**
+	 * Get the squares a {@link Bishop} on {@code square} attacks.
+	 *
+	 * @param square is the square of the {@code Bishop}.
+	 * @param occupied is the mask of every occupied square.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long bishop(int square, long occupied) {
+		return Magic.bishop(square, occupied);
+	}
+
+	/**
+	 * Get the squares strictly between {@code from} and {@code to}.<br>
+	 * A sliding {@link Piece} moving from {@code from} to {@code to} collides if any of them is occupied.
+	 *
+	 * @param from is a square.
+	 * @param to is a square.
+	 *
+	 * @return	the mask of the squares between them.<br>
+	 * 			{@code 0} if they do not share a row, column or diagonal.
+	 */
+	public static long between(int from, int to) {
+		return between[from][to];
+	}
+
+	/**
+	 * Get the mask of the square at {@code row} and {@code column}.
+	 *
+	 * @param row is the row of the square.
+	 * @param column is the column of the square.
+	 *
+	 * @return	the mask of the square.<br>
+	 * 			{@code 0} if the square is not on the board.
+	 */
+	private static long bit(int row, int column) {
+		if (row < 0 || row > 7 || column < 0 || column > 7) return 0L;
+		return 1L << Bitboard.square(row, column);
+	}
+
+	/**
+	 * Get the squares a {@link King} on {@code square} attacks.
+	 *
+	 * @param square is the square of the {@code King}.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long king(int square) {
+		return king[square];
+	}
+
+	/**
+	 * Get the squares a {@link Knight} on {@code square} attacks.
+	 *
+	 * @param square is the square of the {@code Knight}.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long knight(int square) {
+		return knight[square];
+	}
+
+	/**
+	 * Get every square on the row, column or diagonal through {@code from} and {@code to}, from edge to edge.
+	 *
+	 * @param from is a square.
+	 * @param to is a square.
+	 *
+	 * @return	the mask of the line.<br>
+	 * 			{@code 0} if they do not share a row, column or diagonal.
+	 */
+	public static long line(int from, int to) {
+		return lines[from][to];
+	}
+
+	/**
+	 * Get the squares a {@link Pawn} that is {@code color} on {@code square} attacks.
+	 *
+	 * @param color is the {@link PieceColor} of the {@code Pawn}.
+	 * @param square is the square of the {@code Pawn}.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long pawn(PieceColor color, int square) {
+		return pawn[color.ordinal()][square];
+	}
+
+	/**
+	 * Get the squares a {@link Queen} on {@code square} attacks.
+	 *
+	 * @param square is the square of the {@code Queen}.
+	 * @param occupied is the mask of every occupied square.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long queen(int square, long occupied) {
+		return bishop(square, occupied) | rook(square, occupied);
+	}
+
+	/**
+	 * Get the squares in {@code direction} from {@code square}, up to and including the first occupied square.<br>
+	 * {@link Magic} builds its tables with this; {@link #bishop(int, long)} and {@link #rook(int, long)} are faster.
+	 *
+	 * @param direction is the direction, such as {@link #north}.
+	 * @param square is the square the ray starts from.
+	 * @param occupied is the mask of every occupied square.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long ray(int direction, int square, long occupied) {
+		long ray = rays[direction][square], blockers = ray & occupied;
+		if (blockers == 0) return ray;
+
+		//Directions from east to south west number squares upwards, so the nearest blocker is the lowest bit
+		int blocker = direction >= east && direction <= southWest ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+		return ray ^ rays[direction][blocker];
+	}
+
+	/**
+	 * Get the squares a {@link Rook} on {@code square} attacks.
+	 *
+	 * @param square is the square of the {@code Rook}.
+	 * @param occupied is the mask of every occupied square.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long rook(int square, long occupied) {
+		return Magic.rook(square, occupied);
+	}
+}
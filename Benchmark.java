@@ -0,0 +1,204 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code Benchmark} class times the methods of the rules that most of the time is spent in.
+ * <p>Every benchmark runs on each of {@link #positions}: an opening, a middlegame and an endgame.
+ * A benchmark is run for a few warmup rounds, so the JIT compiler has compiled it, and then for the measured rounds.
+ * Each round reports how many calls are made a second and how many bytes each call allocates,
+ * so a change to the rules that makes them slower or allocate more shows up as a number.</p>
+ * <p>Usage: {@code java Benchmark [-warmup rounds] [-rounds rounds] [-time milliseconds] [name]}.
+ * Only the benchmarks whose name contains {@code name} are run.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Benchmark {
+	/**
+	 * The positions every benchmark runs on, in <i>Forsyth-Edwards Notation</i>.
+	 */
+	private static final String[][] positions = {
+		{"opening",		ChessBoard.startPosition},
+		{"middlegame",	"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"},
+		{"endgame",		"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"},
+	};
+
+	/**
+	 * Every result is added here, so the JIT compiler cannot remove a call whose result is not used.
+	 */
+	private static volatile long sink;
+
+	/**
+	 * {@code Benchmark} only has static methods.
+	 */
+	private Benchmark() {}
+
+	/**
+	 * The {@code Operation} interface is one benchmark, run on a {@link ChessBoard} with its legal moves.
+	 */
+	@FunctionalInterface
+	private interface Operation {
+		/**
+		 * Call the method timed.
+		 *
+		 * @param board is the {@link ChessBoard}, which must be left as it was found.
+		 * @param moves are the legal moves of {@code board}.
+		 *
+		 * @return the number of calls made.
+		 */
+		long run(ChessBoard board, int[] moves);
+	}
+
+	/**
+	 * Create the benchmarks.
+	 *
+	 * @return the name and {@link Operation} of each benchmark.
+	 */
+	private static List<Object[]> benchmarks() {
+		List<Object[]> benchmarks = new ArrayList<Object[]>();
+		for (PieceType type : PieceType.values()) {
+			benchmarks.add(new Object[] {"getLegal " + type, (Operation)(board, moves) -> {
+				long calls = 0;
+				for (int move : moves) {
+					Piece piece = board.getTile(Move.getFrom(move)).getPiece();
+					if (piece.getPieceType() != type) continue;
+					if (piece.getLegal(board.getBoard(), move)) sink++;
+					calls++;
+				} return calls;
+			}});
+		} benchmarks.add(new Object[] {"collide", (Operation)(board, moves) -> {
+			for (int move : moves) {
+				if (board.getTile(Move.getFrom(move)).getPiece().collide(board, move)) sink++;
+			} return moves.length;
+		}});
+		benchmarks.add(new Object[] {"getCheckers", (Operation)(board, moves) -> {
+			sink += board.getCheckers();
+			return 1;
+		}});
+		benchmarks.add(new Object[] {"keepsKingSafe", (Operation)(board, moves) -> {
+			for (int move : moves) {
+				if (board.keepsKingSafe(move)) sink++;
+			} return moves.length;
+		}});
+		benchmarks.add(new Object[] {"isLegal", (Operation)(board, moves) -> {
+			for (int move : moves) {
+				if (board.isLegal(move)) sink++;
+			} return moves.length;
+		}});
+		benchmarks.add(new Object[] {"findKing", (Operation)(board, moves) -> {
+			Piece piece = board.getTile(Move.getFrom(moves[0])).getPiece();
+			sink += board.findKing(piece, false).getIndex() + board.findKing(piece, true).getIndex();
+			return 2;
+		}});
+		benchmarks.add(new Object[] {"findRooks", (Operation)(board, moves) -> {
+			Piece piece = board.getTile(Move.getFrom(moves[0])).getPiece();
+			sink += board.findRooks(piece, false).length + board.findRooks(piece, true).length;
+			return 2;
+		}});
+		MoveList list = new MoveList();
+		benchmarks.add(new Object[] {"generateLegal", (Operation)(board, moves) -> {
+			list.clear();
+			board.generateLegal(list);
+			sink += list.size();
+			return 1;
+		}});
+		benchmarks.add(new Object[] {"makeMove/unmakeMove", (Operation)(board, moves) -> {
+			for (int move : moves) {
+				board.makeMove(move);
+				board.unmakeMove();
+			} return moves.length;
+		}});
+		benchmarks.add(new Object[] {"movePiece", (Operation)(board, moves) -> {
+			for (int move : moves) {
+				board.movePiece(board.getTile(Move.getFrom(move)));
+				board.movePiece(board.getTile(Move.getTo(move)));
+				board.unmakeMove();
+			} return moves.length;
+		}});
+		return benchmarks;
+	}
+
+	/**
+	 * Get the bytes the current thread has allocated.
+	 *
+	 * @param threads is the {@link ThreadMXBean} of the virtual machine.
+	 *
+	 * @return	the bytes allocated.<br>
+	 * 			{@code -1} if the virtual machine cannot tell.
+	 */
+	private static long allocated(ThreadMXBean threads) {
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+		return ((com.sun.management.ThreadMXBean)threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	public static void main(String[] args) {
+		int warmup = 3, rounds = 5;
+		long time = 1000;
+		String filter = "";
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "-warmup":
+					warmup = Integer.parseInt(args[++i]);
+					break;
+				case "-rounds":
+					rounds = Integer.parseInt(args[++i]);
+					break;
+				case "-time":
+					time = Long.parseLong(args[++i]);
+					break;
+				default:
+					filter = args[i];
+				}
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			rounds = 0;
+		} if (warmup < 0 || rounds < 1 || time < 1) {
+			System.err.println("Usage: java Benchmark [-warmup rounds] [-rounds rounds] [-time milliseconds] [name]");
+			System.exit(1);
+		}
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		System.out.println(String.format("%-20s %-12s %16s %12s %12s", "Benchmark", "Position", "calls/s", "error", "bytes/call"));
+		for (Object[] benchmark : benchmarks()) {
+			String name = (String)benchmark[0];
+			if (!name.contains(filter)) continue;
+			for (String[] position : positions) {
+				ChessBoard board = new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+				board.setPosition(position[1]);
+				MoveList list = new MoveList();
+				board.generateLegal(list);
+				int[] moves = new int[list.size()];
+				for (int i = 0; i < moves.length; i++) {
+					moves[i] = list.get(i);
+				}
+
+				double[] throughput = new double[rounds];
+				long calls = 0, bytes = 0;
+				for (int round = -warmup; round < rounds; round++) {
+					long roundCalls = 0, before = allocated(threads), start = System.nanoTime(), end = start + time * 1_000_000, now;
+					do {
+						roundCalls += ((Operation)benchmark[1]).run(board, moves);
+					} while ((now = System.nanoTime()) < end);
+					long after = allocated(threads);
+					if (round < 0) continue;
+					throughput[round] = roundCalls * 1e9 / (now - start);
+					calls += roundCalls;
+					bytes = before < 0 ? -1 : bytes + after - before;
+				}
+
+				if (calls == 0) continue;	//No Piece of the type in the position
+				double mean = 0, variance = 0;
+				for (double t : throughput) {
+					mean += t / rounds;
+				} for (double t : throughput) {
+					variance += (t - mean) * (t - mean) / Math.max(1, rounds - 1);
+				} String allocation = bytes < 0 ? "n/a" : String.format("%.1f", (double)bytes / Math.max(1, calls));
+				System.out.println(String.format("%-20s %-12s %16.0f %12.0f %12s", name, position[0], mean, Math.sqrt(variance), allocation));
+			}
+		}
+	}
+}
@@ -1,6 +1,3 @@
-import java.util.ArrayList;
-import java.util.Objects;
-
 /**
  * This {@code Bishop} class represents a Bishop in the game of chess.
  * This is a subclass of {@link Piece}.
@@ -25,16 +22,25 @@ public class Bishop extends Piece {
 		if (!(obj instanceof Bishop))	return false;
 		return true;
 	}
+
+	@Override
+	public long getAttacks(int square, long occupied) {
+		return Attacks.bishop(square, occupied);
+	}
+	
 	
 	/**
-	 * <p>Determine if move {@code Bishop} makes from {@code tiles[0]} to {@code tiles[1]} is legal.</p>
+	 * <p>Determine if move {@code Bishop} makes with {@code move} is legal.</p>
 	 * <p>{@code Bishop} may must move <b>diagonally</b>.</p>
 	 */
 	@Override
-	public boolean getLegal(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		Objects.requireNonNull(tiles, "Bishop must move");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
-		return Math.abs(tiles[0].getRow() - tiles[1].getRow()) == Math.abs(tiles[0].getColumn() - tiles[1].getColumn());
+	public boolean getLegal(Tile[][] board, int move) {
+		return (Attacks.bishop(Move.getFrom(move), 0L) & 1L << Move.getTo(move)) != 0;
+	}
+
+	@Override
+	public PieceType getPieceType() {
+		return PieceType.Bishop;
 	}
 
 	@Override
@@ -53,43 +59,6 @@ public class Bishop extends Piece {
 	
 	public void reset() {}
 	
-	@Override
-	public Tile[] setTileCollide(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		Objects.requireNonNull(board, "Bishop must be on a board");
-		Objects.requireNonNull(tiles, "Bishop must move");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
-		
-		ArrayList<Tile> temp = new ArrayList<Tile>();
-		int oldX = tiles[0].getRow(), oldY = tiles[0].getColumn(), newX = tiles[1].getRow(), newY = tiles[1].getColumn();
-		int i = oldX, j = oldY;
-		int dx = 0, dy = 0;
-		
-		if (newX < oldX)
-			if (newY < oldY) {	//North West
-				dx = -1; dy = -1;
-			} else {			//North East
-				dx = -1; dy = 1;
-			}
-		else
-			if (newY < oldY) {	//South West
-				dx = 1; dy = -1;
-			} else {			//South East
-				dx = 1; dy = 1;
-			}
-		
-		for (int count = 0; count <= Math.abs(oldX - newX); count++) {
-			temp.add(board[i][j]);
-			i += dx; j += dy;
-		}
-		
-		//Cannot collide with self
-		temp.remove(board[oldX][oldY]);
-		
-		//Cannot collide when capturing
-		if (!this.isAlly(temp.get(temp.size() - 1).getPiece())) temp.remove(temp.size() - 1);
-		return temp.toArray(new Tile[temp.size()]);
-	}
-
 	@Override
 	public String toString() {
 		switch (this.pieceColor) {
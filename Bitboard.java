@@ -0,0 +1,164 @@
+import java.util.Arrays;
+
+/**
+ * This {@code Bitboard} class represents the position on a {@link ChessBoard}
+ * as 64 bit occupancy masks, one for each {@link PieceColor} and {@link PieceType}. <br>
+ * Bit {@code row * 8 + column} of a mask is set when that {@link Tile} holds such a {@link Piece}.
+ * <p>Each {@code Tile} reports to its {@code Bitboard} whenever its {@code Piece} changes,
+ * so the masks always agree with the {@code Tile} on the board.
+ * The {@link Zobrist} key of the placement is kept up to date the same way.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Bitboard {
+	/**
+	 * The number of {@link PieceType}.
+	 */
+	private static final int types = PieceType.values().length;
+
+	/**
+	 * An occupancy mask for each {@link PieceColor} and {@link PieceType}, indexed by {@link #index(Piece)}.
+	 */
+	private final long[] pieces;
+
+	/**
+	 * An occupancy mask for each {@link PieceColor}.
+	 */
+	private final long[] colors;
+
+	/**
+	 * The {@link Zobrist} key of every {@link Piece} on every square.
+	 */
+	private long key;
+
+	/**
+	 * Create an empty {@code Bitboard}.
+	 */
+	public Bitboard() {
+		this.pieces = new long[2 * types];
+		this.colors = new long[2];
+	}
+
+	/**
+	 * Determine the index of {@code piece} in {@link #pieces}.
+	 *
+	 * @param piece is the {@link Piece}.
+	 *
+	 * @return the index of the mask holding {@code piece}.
+	 */
+	private static int index(Piece piece) {
+		return piece.getPieceColor().ordinal() * types + piece.getPieceType().ordinal();
+	}
+
+	/**
+	 * Determine the square at {@code row} and {@code column}.
+	 *
+	 * @param row is the row of the square.
+	 * @param column is the column of the square.
+	 *
+	 * @return the square, from {@code 0} to {@code 63}.
+	 */
+	public static int square(int row, int column) {
+		return row << 3 | column;
+	}
+
+	/**
+	 * Record that {@code piece} has been placed on {@code square}.
+	 *
+	 * @param piece is the {@link Piece} placed.
+	 * @param square is the square it is placed on.
+	 */
+	public void add(Piece piece, int square) {
+		long bit = 1L << square;
+		int index = index(piece);
+		this.pieces[index]								|= bit;
+		this.colors[piece.getPieceColor().ordinal()]	|= bit;
+		this.key										^= Zobrist.piece(index, square);
+	}
+
+	/**
+	 * Record that {@code piece} has been taken off {@code square}.
+	 *
+	 * @param piece is the {@link Piece} taken off.
+	 * @param square is the square it is taken off.
+	 */
+	public void remove(Piece piece, int square) {
+		long bit = ~(1L << square);
+		int index = index(piece);
+		this.pieces[index]								&= bit;
+		this.colors[piece.getPieceColor().ordinal()]	&= bit;
+		this.key										^= Zobrist.piece(index, square);
+	}
+
+	/**
+	 * Remove every {@link Piece}.
+	 */
+	public void clear() {
+		Arrays.fill(this.pieces, 0L);
+		Arrays.fill(this.colors, 0L);
+		this.key = 0L;
+	}
+
+	/**
+	 * Determine the square of the {@link King} that is {@code color}.
+	 *
+	 * @param color is the {@link PieceColor} of the {@code King}.
+	 *
+	 * @return	the square of the {@code King}.<br>
+	 * 			{@code 64} if there is no such {@code King}.
+	 */
+	public int getKingSquare(PieceColor color) {
+		return Long.numberOfTrailingZeros(this.getPieces(color, PieceType.King));
+	}
+
+	/**
+	 * @return {@link #key}
+	 */
+	public long getKey() {
+		return this.key;
+	}
+
+	/**
+	 * @return a mask of every occupied square.
+	 */
+	public long getOccupied() {
+		return this.colors[0] | this.colors[1];
+	}
+
+	/**
+	 * Get the mask of all {@link Piece} that are {@code color}.
+	 *
+	 * @param color is the {@link PieceColor}.
+	 *
+	 * @return the mask of all {@code Piece} that are {@code color}.
+	 */
+	public long getPieces(PieceColor color) {
+		return this.colors[color.ordinal()];
+	}
+
+	/**
+	 * Get the mask of all {@link Piece} that are {@code color} and {@code type}.
+	 *
+	 * @param color is the {@link PieceColor}.
+	 * @param type is the {@link PieceType}.
+	 *
+	 * @return the mask of all such {@code Piece}.
+	 */
+	public long getPieces(PieceColor color, PieceType type) {
+		return this.pieces[color.ordinal() * types + type.ordinal()];
+	}
+
+	/**
+	 * Determine if any square in {@code mask} is occupied.
+	 *
+	 * @param mask is a mask of squares.
+	 *
+	 * @return	{@code true} if a square in {@code mask} is occupied.<br>
+	 * 			{@code false} otherwise.
+	 */
+	public boolean isOccupied(long mask) {
+		return (this.getOccupied() & mask) != 0;
+	}
+}
@@ -1,10 +1,6 @@
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
 
-import javax.swing.JOptionPane;
-
 /**
  * This {@code ChessBoard} class represents a chess board. <br>
  * It includes all the {@link Tile} on the board as well as all {@link Piece} on the board.
@@ -14,11 +10,82 @@ import javax.swing.JOptionPane;
  * @author MrPineapple065
  */
 public final class ChessBoard {
+	/**
+	 * The most moves {@link #makeMove(int)} can make without {@link #unmakeMove()}.
+	 */
+	public static final int maxPly = 1024;
+	
+	/**
+	 * All {@link PieceType}, so {@link #setPosition(String)} does not copy {@link PieceType#values()}.
+	 */
+	private static final PieceType[] types = PieceType.values();
+	
+	/**
+	 * The letter of each {@link Piece} in <i>Forsyth-Edwards Notation</i>, {@link PieceColor#White} first, in the order of {@link #types}.
+	 */
+	private static final String pieceLetters = "PNBRQKpnbrqk";
+	
+	/**
+	 * The first squares of each {@link King} and {@link Rook}, which castling needs.
+	 */
+	private static final int[] castlingSquares = {0, 4, 7, 56, 60, 63};
+	
+	/**
+	 * The position a game starts from, in <i>Forsyth-Edwards Notation</i>; see {@link #setPosition(String)}.
+	 */
+	public static final String startPosition = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+	
+	/**
+	 * Set in {@link #castlingRights} while {@link PieceColor#White} may castle on the side of the {@link King}.
+	 */
+	public static final int whiteKingSide	= 1;
+	
+	/**
+	 * Set in {@link #castlingRights} while {@link PieceColor#White} may castle on the side of the {@link Queen}.
+	 */
+	public static final int whiteQueenSide	= 2;
+	
+	/**
+	 * Set in {@link #castlingRights} while {@link PieceColor#Black} may castle on the side of the {@link King}.
+	 */
+	public static final int blackKingSide	= 4;
+	
+	/**
+	 * Set in {@link #castlingRights} while {@link PieceColor#Black} may castle on the side of the {@link Queen}.
+	 */
+	public static final int blackQueenSide	= 8;
+	
+	/**
+	 * The castling rights kept after a move starts or ends on each square.<br>
+	 * Moving a {@link King} or a {@link Rook} from its first square, or capturing that {@code Rook}, loses the right.
+	 */
+	private static final int[] castlingMasks = new int[64];
+	
+	static {
+		Arrays.fill(castlingMasks, 15);
+		castlingMasks[0]	&= ~blackQueenSide;
+		castlingMasks[4]	&= ~(blackKingSide | blackQueenSide);
+		castlingMasks[7]	&= ~blackKingSide;
+		castlingMasks[56]	&= ~whiteQueenSide;
+		castlingMasks[60]	&= ~(whiteKingSide | whiteQueenSide);
+		castlingMasks[63]	&= ~whiteKingSide;
+	}
+	
 	/**
 	 * A 2D array containing all {@link Tile}.
 	 */
 	private final Tile[][] board;
 	
+	/**
+	 * The {@link Bitboard} kept in step with every {@link Tile} of {@link #board}.
+	 */
+	private final Bitboard bitboard;
+	
+	/**
+	 * A {@link MoveList} reused whenever moves are generated.
+	 */
+	private final MoveList moveList;
+	
 	/**
 	 * An array of {@link Tile} containing the original and new positions of a {@link Piece}.
 	 */
@@ -30,14 +97,118 @@ public final class ChessBoard {
 	private final Player[] players;
 	
 	/**
-	 * The {@link ChessBoardPanel} holding this.
+	 * The {@link ChessBoardListener} told about the game.
+	 */
+	private ChessBoardListener listener;
+	
+	/**
+	 * The {@link Move} made at each ply, so {@link #unmakeMove()} can take it back.
+	 */
+	private final int[] undoMoves;
+	
+	/**
+	 * The {@link Piece} that moved at each ply. A promoted {@link Pawn} is put back from here.
+	 */
+	private final Piece[] undoPieces;
+	
+	/**
+	 * The {@link Piece} captured at each ply, or {@code null}.
+	 */
+	private final Piece[] undoCaptured;
+	
+	/**
+	 * {@link #castlingRights} before each ply.
+	 */
+	private final int[] undoCastlingRights;
+	
+	/**
+	 * {@link #enPassant} before each ply.
+	 */
+	private final int[] undoEnPassant;
+	
+	/**
+	 * {@link #halfmoveClock} before each ply.
+	 */
+	private final int[] undoHalfmoveClock;
+	
+	/**
+	 * Whether the {@link Piece} that moved at each ply had moved before: {@code 1} for the {@code Piece},
+	 * {@code 2} for the {@link Rook} of a castle.
+	 */
+	private final int[] undoHasMoved;
+	
+	/**
+	 * {@link #attackMaps} before each ply, two for each ply.
+	 */
+	private final long[] undoAttackMaps;
+	
+	/**
+	 * {@link #attackMapsValid} before each ply.
+	 */
+	private final boolean[] undoAttackMapsValid;
+	
+	/**
+	 * The squares attacked by each {@link PieceColor}, indexed by ordinal.<br>
+	 * Only meaningful while {@link #attackMapsValid}; see {@link #getAttackMap(PieceColor)}.
+	 */
+	private final long[] attackMaps;
+	
+	/**
+	 * {@code true} once {@link #attackMaps} has been found for the position.
+	 */
+	private boolean attackMapsValid;
+	
+	/**
+	 * The number of moves made with {@link #makeMove(int)} and not yet taken back.
+	 */
+	private int ply;
+	
+	/**
+	 * {@link #whiteKingSide}, {@link #whiteQueenSide}, {@link #blackKingSide} and {@link #blackQueenSide} or'd together.
 	 */
-	private final ChessBoardPanel boardPanel;
+	private int castlingRights;
 	
 	/**
-	 * The {@link Piece} attacking {@link King}
+	 * The square a {@link Pawn} has just passed over by advancing two {@link Tile}.<br>
+	 * {@code 64} if the last move was not such a move.
 	 */
-	private Piece attackPiece;
+	private int enPassant;
+	
+	/**
+	 * The number of moves since a {@link Pawn} last moved or a {@link Piece} was last captured, for the fifty move rule.
+	 */
+	private int halfmoveClock;
+	
+	/**
+	 * The number of the move being played, starting at {@code 1} and counting up after each move of {@link PieceColor#Black}.
+	 */
+	private int fullmoveNumber;
+	
+	/**
+	 * The buffer {@link #getPosition()} writes into, so writing a position allocates only the {@code String}.
+	 */
+	private final StringBuilder position;
+	
+	/**
+	 * The {@link Piece} {@link #setPosition(String)} puts on each square, indexed by square times 12 plus the index
+	 * in {@link #pieceLetters}; each is created the first time it is needed and reused after {@link Piece#reset()}.
+	 */
+	private final Piece[] positionPieces;
+	
+	/**
+	 * The {@link Bitboard} of the position read by {@link #setPosition(String)}, to check it before it is set up.
+	 */
+	private final Bitboard positionBitboard;
+	
+	/**
+	 * The index in {@link #pieceLetters} of the {@link Piece} on each square, or {@code -1}, as read by {@link #setPosition(String)}.
+	 */
+	private final int[] placement;
+	
+	/**
+	 * Where each field of the position read by {@link #setPosition(String)} starts and ends.
+	 */
+	private final int[] fieldBounds;
 	
 	/**
 	 * A {@code boolean} used to determine if the game is over.
@@ -65,24 +236,127 @@ public final class ChessBoard {
 	private int	nextIndex;
 	
 	/**
-	 * Creates a {@code ChessBoard} with {@code players} and {@code bp}.
+	 * Creates a {@code ChessBoard} with {@code players}.<br>
+	 * The {@code ChessBoard} does not need a view; see {@link #setListener(ChessBoardListener)}.
 	 * 
-	 * @param bp is the {@link ChessBoardPanel} holding this.
 	 * @param players is an {@code Array} containing all {@link Player}.
 	 * 
 	 * @throws IllegalArgumentException if the {@code length} of {@code players} is not 2. 
-	 * @throws NullPointerException if {@code bp} is null or {@code players} is null.
+	 * @throws NullPointerException if {@code players} is null.
 	 */
-	ChessBoard(ChessBoardPanel bp, Player[] players) throws IllegalArgumentException, NullPointerException {
-		this.boardPanel = Objects.requireNonNull(bp, "ChessBoard must be on a ChessBoardPanel.");
+	public ChessBoard(Player[] players) throws IllegalArgumentException, NullPointerException {
 		Objects.requireNonNull(players, "There must be players playing.");
 		if (players.length != 2) throw new IllegalArgumentException("The number of Players is not 2.");
 		this.players	= players;
+		this.listener	= new ChessBoardListener() {};
+		this.bitboard	= new Bitboard();
+		this.moveList	= new MoveList();
 		this.board	= new Tile[8][8];
 		this.tiles	= new Tile[2];
+		this.undoMoves			= new int[maxPly];
+		this.undoPieces			= new Piece[maxPly];
+		this.undoCaptured		= new Piece[maxPly];
+		this.undoCastlingRights	= new int[maxPly];
+		this.undoEnPassant		= new int[maxPly];
+		this.undoHalfmoveClock	= new int[maxPly];
+		this.undoHasMoved		= new int[maxPly];
+		this.undoAttackMaps		= new long[2 * maxPly];
+		this.undoAttackMapsValid	= new boolean[maxPly];
+		this.attackMaps			= new long[2];
+		this.position			= new StringBuilder(90);
+		this.positionPieces		= new Piece[64 * 12];
+		this.positionBitboard	= new Bitboard();
+		this.placement			= new int[64];
+		this.fieldBounds		= new int[12];
 		this.createBoard(); this.reset();
 	}
 	
+	/**
+	 * Add every <i>pseudo-legal</i> move of the current {@link Player} to {@code moves}.
+	 * 
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 * 
+	 * @see Piece#generate(ChessBoard, int, MoveList)
+	 */
+	public void generate(MoveList moves) {
+		this.generate(moves, true, true);
+	}
+	
+	/**
+	 * Add the <i>pseudo-legal</i> moves of the current {@link Player} of either kind to {@code moves}.
+	 * 
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 * @param captures is {@code true} to add captures and promotions.
+	 * @param quiets is {@code true} to add every other move.
+	 * 
+	 * @see Piece#generate(ChessBoard, int, MoveList, boolean, boolean)
+	 */
+	private void generate(MoveList moves, boolean captures, boolean quiets) {
+		for (long pieces = this.bitboard.getPieces(this.currentPlayer.getPlayerColor()); pieces != 0; pieces &= pieces - 1) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			this.getTile(square).getPiece().generate(this, square, moves, captures, quiets);
+		}
+	}
+	
+	/**
+	 * Add every <i>legal</i> capture and promotion of the current {@link Player} to {@code moves}.
+	 * 
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 * 
+	 * @see #generateLegal(MoveList)
+	 */
+	public void generateCaptures(MoveList moves) {
+		this.generateLegal(moves, true, false);
+	}
+	
+	/**
+	 * Add every <i>legal</i> move of the current {@link Player} to {@code moves}.<br>
+	 * The {@link Piece} giving <b>check</b>, the squares that block or capture it and every <i>pinned</i> {@code Piece}
+	 * are found once; each pseudo-legal move is then kept or dropped with a bit test.
+	 * 
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 */
+	public void generateLegal(MoveList moves) {
+		this.generateLegal(moves, true, true);
+	}
+	
+	/**
+	 * Add the <i>legal</i> moves of the current {@link Player} of either kind to {@code moves}.
+	 * 
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 * @param captures is {@code true} to add captures and promotions.
+	 * @param quiets is {@code true} to add every other move.
+	 */
+	private void generateLegal(MoveList moves, boolean captures, boolean quiets) {
+		PieceColor color = this.currentPlayer.getPlayerColor();
+		int king = this.bitboard.getKingSquare(color), start = moves.size();
+		long checkers = this.getCheckers(color, king);
+		
+		if (Long.bitCount(checkers) > 1) this.getTile(king).getPiece().generate(this, king, moves, captures, quiets);	//Only the King can escape two checks
+		else this.generate(moves, captures, quiets);
+		
+		long danger = this.computeAttackMap(color.opposite(), this.bitboard.getOccupied() & ~(1L << king));
+		long evasions = checkers == 0 ? -1L : checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+		long pinned = this.getPinned(color, king);
+		
+		int size = start;
+		for (int i = start; i < moves.size(); i++) {
+			int move = moves.get(i);
+			if (this.keepsKingSafe(move, color, king, danger, evasions, pinned)) moves.set(size++, move);
+		} moves.truncate(size);
+	}
+	
+	/**
+	 * Add every <i>legal</i> move of the current {@link Player} that is neither a capture nor a promotion to {@code moves}.
+	 * 
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 * 
+	 * @see #generateLegal(MoveList)
+	 */
+	public void generateQuiets(MoveList moves) {
+		this.generateLegal(moves, false, true);
+	}
+	
 	/**
 	 * Find the {@link King} on the {@link board}.
 	 * 
@@ -95,14 +369,10 @@ public final class ChessBoard {
 	 */
 	public Tile findKing(Piece piece, boolean opponent) throws IllegalStateException {
 		Objects.requireNonNull(piece, "piece must be nonnull.");
-		for (Tile[] row : this.board) {
-			for (Tile tile : row) {
-				Piece tilePiece = tile.getPiece();
-				if (!(tilePiece instanceof King)) continue;
-				if (!opponent && piece.isAlly(tilePiece))		return tile;
-				else if (opponent && !piece.isAlly(tilePiece))	return tile;
-			}
-		} throw new IllegalStateException("King must always be on the board.");
+		PieceColor color = opponent ? piece.getPieceColor().opposite() : piece.getPieceColor();
+		int square = this.bitboard.getKingSquare(color);
+		if (square == 64) throw new IllegalStateException("King must always be on the board.");
+		return this.getTile(square);
 	}
 	
 	/**
@@ -116,28 +386,34 @@ public final class ChessBoard {
 	 */
 	public Tile[] findRooks(Piece piece, boolean opponent) {
 		Objects.requireNonNull(piece, "piece must be nonnull.");
-		List<Tile> rooks = new ArrayList<Tile>(10);
-		for (Tile[] row : this.board) {
-			for (Tile tile : row) {
-				Piece tilePiece = tile.getPiece();
-				if (!(tilePiece instanceof Rook))				continue;
-				if (!opponent && piece.isAlly(tilePiece))		rooks.add(tile);
-				else if (opponent && !piece.isAlly(tilePiece))	rooks.add(tile);
-			}
-		} return rooks.toArray(new Tile[rooks.size()]);
+		PieceColor color = opponent ? piece.getPieceColor().opposite() : piece.getPieceColor();
+		long rooks = this.bitboard.getPieces(color, PieceType.Rook);
+		Tile[] tiles = new Tile[Long.bitCount(rooks)];
+		for (int i = 0; rooks != 0; i++, rooks &= rooks - 1) {
+			tiles[i] = this.getTile(Long.numberOfTrailingZeros(rooks));
+		} return tiles;
 	}
  	
- 	/**Move a {@link Piece} to its new position and update GUI*/
-	private void advance() {
-		this.tiles[1].setPiece(this.tiles[0].getPiece());
-		this.tiles[0].setPiece(null);
-		this.tiles[0].update();
-		this.tiles[1].update();
-		
-		this.currentIndex	= ++this.currentIndex % 2;
-		this.nextIndex		= ++this.nextIndex % 2;
-		this.currentPlayer	= this.players[this.currentIndex];
-		this.nextPlayer		= this.players[this.nextIndex];
+	/**
+	 * Create the {@link Move} from {@code from} to {@code to}, with every flag the move needs.
+	 * 
+	 * @param from is the square the move starts on.
+	 * @param to is the square the move ends on.
+	 * @param promotion	is the {@link PieceType} a {@link Pawn} reaching the last row is promoted to.<br>
+	 * 					{@code null} for {@link PieceType#Queen}.
+	 * 
+	 * @return the {@code Move}.
+	 */
+	public int createMove(int from, int to, PieceType promotion) {
+		Piece piece = this.getTile(from).getPiece(), target = this.getTile(to).getPiece();
+		int flags = target != null ? Move.capture : 0;
+		if (piece instanceof Pawn) {
+			if (Math.abs((from >>> 3) - (to >>> 3)) == 2)		flags |= Move.doublePush;
+			else if (target == null && (from & 7) != (to & 7))	flags |= Move.capture | Move.enPassant;
+			int row = to >>> 3;
+			if (row == 0 || row == 7) return Move.create(from, to, promotion == null ? PieceType.Queen : promotion, flags);
+		} else if (piece instanceof King && Math.abs((from & 7) - (to & 7)) == 2) flags |= Move.castle;
+		return Move.create(from, to, flags);
 	}
  	
  	/**
@@ -146,31 +422,30 @@ public final class ChessBoard {
 	private void createBoard() {
 		for (int row = 0; row < this.board.length; row ++) {
 			for (int column = 0; column < this.board[row].length; column ++) {
-				this.board[row][column] = new Tile(this.boardPanel, column, row);
+				this.board[row][column] = new Tile(this.bitboard, column, row);
 			}
 		}
 	}
 	
+	/**
+	 * Two {@code ChessBoard} are equal if they hold the same position: the same {@link Piece} on every square,
+	 * the same {@link PieceColor} to move, the same castling rights and the same <i>en passant</i> capture, if any;
+	 * an <i>en passant</i> square no {@link Pawn} can capture on does not count, as in {@link #getKey()}.
+	 * Equal positions have equal keys, so this agrees with {@link #hashCode()}.
+	 */
 	@Override
 	public boolean equals(Object obj) {
-		if (this == obj)											return true;
-		if (!(obj instanceof ChessBoard))							return false;
+		if (this == obj)													return true;
+		if (!(obj instanceof ChessBoard))									return false;
 		ChessBoard other = (ChessBoard) obj;
-		if (attackPiece == null) if (other.attackPiece != null)		return false;
-		else if (!attackPiece.equals(other.attackPiece))			return false;
-		if (!Arrays.deepEquals(board, other.board))					return false;
-		if (boardPanel == null) if (other.boardPanel != null)		return false;
-		else if (!boardPanel.equals(other.boardPanel))				return false;
-		if (currentIndex != other.currentIndex)						return false;
-		if (currentPlayer == null) if (other.currentPlayer != null)	return false;
-		else if (!currentPlayer.equals(other.currentPlayer))		return false;
-		if (gameOver != other.gameOver)								return false;
-		if (nextIndex != other.nextIndex)							return false;
-		if (nextPlayer == null) if (other.nextPlayer != null)		return false;
-		else if (!nextPlayer.equals(other.nextPlayer))				return false;
-		if (!Arrays.equals(players, other.players))					return false;
-		if (!Arrays.equals(tiles, other.tiles))						return false;
-		return true;
+		if (this.getKey() != other.getKey())								return false;
+		if (this.currentPlayer.getPlayerColor() != other.currentPlayer.getPlayerColor())	return false;
+		if (castlingRights != other.castlingRights)							return false;
+		for (PieceColor color : PieceColor.values()) {
+			for (PieceType type : types) {
+				if (this.bitboard.getPieces(color, type) != other.bitboard.getPieces(color, type))	return false;
+			}
+		} return true;
 	}
 	
 	/**
@@ -180,6 +455,162 @@ public final class ChessBoard {
 		return this.board;
 	}
 	
+	/**
+	 * Find the squares attacked by every {@link Piece} that is {@code color}, as if {@code occupied} were occupied.<br>
+	 * Leaving a {@link King} out of {@code occupied} lets the attacks run through it,
+	 * so it cannot hide from a ray by stepping along it.
+	 * 
+	 * @param color is the {@link PieceColor} of the attackers.
+	 * @param occupied is the mask of occupied squares.
+	 * 
+	 * @return the mask of attacked squares.
+	 */
+	public long computeAttackMap(PieceColor color, long occupied) {
+		long map = 0L;
+		for (long pieces = this.bitboard.getPieces(color); pieces != 0; pieces &= pieces - 1) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			map |= this.getTile(square).getPiece().getAttacks(square, occupied);
+		} return map;
+	}
+	
+	/**
+	 * Find every {@link Piece} of either {@link PieceColor} that attacks {@code square}, as if only {@code occupied} were occupied.<br>
+	 * Taking a {@code Piece} out of {@code occupied} takes it out of the attackers and lets the attacks behind it through.
+	 * 
+	 * @param square is the square.
+	 * @param occupied is the mask of occupied squares.
+	 * 
+	 * @return the mask of the attackers.
+	 */
+	public long getAttackers(int square, long occupied) {
+		Bitboard bitboard = this.bitboard;
+		long queens		= bitboard.getPieces(PieceColor.White, PieceType.Queen) | bitboard.getPieces(PieceColor.Black, PieceType.Queen);
+		long bishops	= bitboard.getPieces(PieceColor.White, PieceType.Bishop) | bitboard.getPieces(PieceColor.Black, PieceType.Bishop) | queens;
+		long rooks		= bitboard.getPieces(PieceColor.White, PieceType.Rook) | bitboard.getPieces(PieceColor.Black, PieceType.Rook) | queens;
+		long knights	= bitboard.getPieces(PieceColor.White, PieceType.Knight) | bitboard.getPieces(PieceColor.Black, PieceType.Knight);
+		long kings		= bitboard.getPieces(PieceColor.White, PieceType.King) | bitboard.getPieces(PieceColor.Black, PieceType.King);
+		return ((Attacks.knight(square) & knights) | (Attacks.king(square) & kings)
+			| (Attacks.pawn(PieceColor.Black, square) & bitboard.getPieces(PieceColor.White, PieceType.Pawn))
+			| (Attacks.pawn(PieceColor.White, square) & bitboard.getPieces(PieceColor.Black, PieceType.Pawn))
+			| (Attacks.bishop(square, occupied) & bishops) | (Attacks.rook(square, occupied) & rooks)) & occupied;
+	}
+	
+	/**
+	 * Get the squares attacked by every {@link Piece} that is {@code color}.<br>
+	 * Both maps are found at most once for each position: {@link #makeMove(int)} marks them stale
+	 * and {@link #unmakeMove()} brings back the maps of the position before.
+	 * 
+	 * @param color is the {@link PieceColor} of the attackers.
+	 * 
+	 * @return the mask of attacked squares.
+	 */
+	public long getAttackMap(PieceColor color) {
+		if (!this.attackMapsValid) {
+			long occupied = this.bitboard.getOccupied();
+			this.attackMaps[PieceColor.White.ordinal()]	= this.computeAttackMap(PieceColor.White, occupied);
+			this.attackMaps[PieceColor.Black.ordinal()]	= this.computeAttackMap(PieceColor.Black, occupied);
+			this.attackMapsValid = true;
+		} return this.attackMaps[color.ordinal()];
+	}
+	
+	/**
+	 * @return {@link #castlingRights}
+	 */
+	public int getCastlingRights() {
+		return this.castlingRights;
+	}
+	
+	/**
+	 * @return {@link #enPassant}
+	 */
+	public int getEnPassant() {
+		return this.enPassant;
+	}
+	
+	/**
+	 * Get the {@link Zobrist} key of the position.<br>
+	 * The key covers every {@link Piece} on every square, the {@link PieceColor} to move, {@link #castlingRights}
+	 * and the column of {@link #enPassant} when a {@link Pawn} of the current {@link Player} can capture there.
+	 * Positions that only differ in something else, such as the score, have the same key.
+	 * 
+	 * @return the key of the position.
+	 */
+	public long getKey() {
+		PieceColor color = this.currentPlayer.getPlayerColor();
+		long key = this.bitboard.getKey() ^ Zobrist.castling(this.castlingRights);
+		if (color == PieceColor.Black) key ^= Zobrist.side;
+		if (this.enPassant == 64) return key;
+		
+		//The Pawn that passed over enPassant, and the squares beside it
+		int pawn = this.enPassant < 32 ? this.enPassant + 8 : this.enPassant - 8;
+		long beside = ((pawn & 7) > 0 ? 1L << (pawn - 1) : 0L) | ((pawn & 7) < 7 ? 1L << (pawn + 1) : 0L);
+		if ((beside & this.bitboard.getPieces(color, PieceType.Pawn)) != 0) key ^= Zobrist.enPassant(this.enPassant & 7);
+		return key;
+	}
+	
+	/**
+	 * @return a mask of every {@link Piece} giving <b>check</b> to the {@link King} of the current {@link Player}.
+	 */
+	public long getCheckers() {
+		PieceColor color = this.currentPlayer.getPlayerColor();
+		return this.getCheckers(color, this.bitboard.getKingSquare(color));
+	}
+	
+	/**
+	 * Find every {@link Piece} giving <b>check</b> to the {@link King} that is {@code color}.
+	 * 
+	 * @param color is the {@link PieceColor} of the {@code King}.
+	 * @param king is the square of the {@code King}.
+	 * 
+	 * @return the mask of the {@code Piece} giving <b>check</b>.
+	 */
+	private long getCheckers(PieceColor color, int king) {
+		return getCheckers(this.bitboard, color, king);
+	}
+	
+	/**
+	 * Find every {@link Piece} of {@code bitboard} giving <b>check</b> to the {@link King} that is {@code color}.
+	 * 
+	 * @param bitboard is the {@link Bitboard} of the position.
+	 * @param color is the {@link PieceColor} of the {@code King}.
+	 * @param king is the square of the {@code King}.
+	 * 
+	 * @return the mask of the {@code Piece} giving <b>check</b>.
+	 */
+	private static long getCheckers(Bitboard bitboard, PieceColor color, int king) {
+		PieceColor enemy = color.opposite();
+		long occupied = bitboard.getOccupied(), queens = bitboard.getPieces(enemy, PieceType.Queen);
+		return (Attacks.knight(king) & bitboard.getPieces(enemy, PieceType.Knight))
+			| (Attacks.pawn(color, king) & bitboard.getPieces(enemy, PieceType.Pawn))
+			| (Attacks.bishop(king, occupied) & (bitboard.getPieces(enemy, PieceType.Bishop) | queens))
+			| (Attacks.rook(king, occupied) & (bitboard.getPieces(enemy, PieceType.Rook) | queens));
+	}
+	
+	/**
+	 * @return {@link #listener}
+	 */
+	public ChessBoardListener getListener() {
+		return this.listener;
+	}
+	
+	/**
+	 * @return {@link #bitboard}.
+	 */
+	public Bitboard getBitboard() {
+		return this.bitboard;
+	}
+	
+	/**
+	 * Get the {@link Tile} on {@code square}.
+	 * 
+	 * @param square is the square, from {@code 0} to {@code 63}.
+	 * 
+	 * @return the {@code Tile} on {@code square}.
+	 */
+	public Tile getTile(int square) {
+		return this.board[square >>> 3][square & 7];
+	}
+	
 	/**
 	 * @return {@link #gameOver}
 	 */
@@ -194,6 +625,104 @@ public final class ChessBoard {
 		return this.currentPlayer;
 	}
 	
+	/**
+	 * Get the move made at {@code ply}, counted from the position given to {@link #setPosition(String)} or {@link #reset()}.
+	 * 
+	 * @param ply is the index of the move, from {@code 0} to {@link #getPly()} less {@code 1}.
+	 * 
+	 * @return the {@link Move}, or {@link Move#none} for a null move; see {@link #makeNullMove()}.
+	 * 
+	 * @throws IllegalArgumentException if {@code ply} is out of range.
+	 */
+	public int getMove(int ply) throws IllegalArgumentException {
+		if (ply < 0 || ply >= this.ply) throw new IllegalArgumentException("Illegal ply: " + ply);
+		return this.undoMoves[ply];
+	}
+	
+	/**
+	 * @return {@link #moveList}
+	 */
+	public MoveList getMoveList() {
+		return this.moveList;
+	}
+	
+	/**
+	 * Find every {@link Piece} that is {@code color} and is <i>pinned</i> to its {@link King}:
+	 * it is the only {@code Piece} between the {@code King} and an enemy {@link Bishop}, {@link Rook} or {@link Queen}.
+	 * 
+	 * @param color is the {@link PieceColor} of the {@code King}.
+	 * @param king is the square of the {@code King}.
+	 * 
+	 * @return the mask of <i>pinned</i> {@code Piece}.
+	 */
+	private long getPinned(PieceColor color, int king) {
+		Bitboard bitboard = this.bitboard;
+		PieceColor enemy = color.opposite();
+		long enemies = bitboard.getPieces(enemy), occupied = bitboard.getOccupied(), queens = bitboard.getPieces(enemy, PieceType.Queen);
+		
+		//Enemies that would attack the King if no ally stood in the way
+		long snipers	= (Attacks.bishop(king, enemies) & (bitboard.getPieces(enemy, PieceType.Bishop) | queens))
+						| (Attacks.rook(king, enemies) & (bitboard.getPieces(enemy, PieceType.Rook) | queens));
+		long pinned = 0L;
+		for (; snipers != 0; snipers &= snipers - 1) {
+			long blockers = Attacks.between(king, Long.numberOfTrailingZeros(snipers)) & occupied;
+			if (Long.bitCount(blockers) == 1) pinned |= blockers & bitboard.getPieces(color);
+		} return pinned;
+	}
+	
+	/**
+	 * @return {@link #fullmoveNumber}
+	 */
+	public int getFullmoveNumber() {
+		return this.fullmoveNumber;
+	}
+	
+	/**
+	 * @return {@link #halfmoveClock}
+	 */
+	public int getHalfmoveClock() {
+		return this.halfmoveClock;
+	}
+	
+	/**
+	 * @return {@link #ply}
+	 */
+	public int getPly() {
+		return this.ply;
+	}
+	
+	/**
+	 * Write the position in <i>Forsyth-Edwards Notation</i>, as read by {@link #setPosition(String)}.
+	 * 
+	 * @return the position.
+	 */
+	public String getPosition() {
+		StringBuilder str = this.position;
+		str.setLength(0);
+		for (int row = 0; row < 8; row++) {
+			int empty = 0;
+			for (int column = 0; column < 8; column++) {
+				Piece piece = this.board[row][column].getPiece();
+				if (piece == null) {
+					empty++;
+					continue;
+				} if (empty > 0) str.append(empty);
+				empty = 0;
+				char c = "PNBRQK".charAt(piece.getPieceType().ordinal());
+				str.append(piece.isWhite() ? c : Character.toLowerCase(c));
+			} if (empty > 0) str.append(empty);
+			if (row < 7) str.append('/');
+		} str.append(this.currentPlayer.getPlayerColor() == PieceColor.White ? " w " : " b ");
+		
+		if (this.castlingRights == 0) str.append('-');
+		else for (int i = 0; i < 4; i++) {
+			if ((this.castlingRights & 1 << i) != 0) str.append("KQkq".charAt(i));
+		} str.append(' ');
+		if (this.enPassant == 64) str.append('-');
+		else str.append((char)('a' + (this.enPassant & 7))).append(8 - (this.enPassant >>> 3));
+		return str.append(' ').append(this.halfmoveClock).append(' ').append(this.fullmoveNumber).toString();
+	}
+	
 	/**
 	 * @return {@link #nextPlayer}
 	 */
@@ -208,113 +737,292 @@ public final class ChessBoard {
 		return this.tiles;
 	}
 	
+	/**
+	 * The hash code is taken from {@link #getKey()}, so it costs nothing to compute.
+	 */
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((attackPiece == null) ? 0 : attackPiece.hashCode());
-		result = prime * result + Arrays.deepHashCode(board);
-		result = prime * result + ((boardPanel == null) ? 0 : boardPanel.hashCode());
-		result = prime * result + currentIndex;
-		result = prime * result + ((currentPlayer == null) ? 0 : currentPlayer.hashCode());
-		result = prime * result + (gameOver ? 1231 : 1237);
-		result = prime * result + nextIndex;
-		result = prime * result + ((nextPlayer == null) ? 0 : nextPlayer.hashCode());
-		result = prime * result + Arrays.hashCode(players);
-		result = prime * result + Arrays.hashCode(tiles);
-		return result;
+		long key = this.getKey();
+		return (int)(key ^ (key >>> 32));
 	}
 	
 	/**
-	 * Help determine if any move puts the <b>opponent</b> {@link King} in <b>check</b>.
+	 * Determine if {@code piece} has moved.
+	 * 
+	 * @param piece is the {@link Piece}.
 	 * 
-	 * @param piece that is moving.
-	 * @param tiles are the original new positions of {@code piece}.
+	 * @return	{@code true} if {@code piece} is a {@link King}, {@link Rook} or {@link Pawn} that has moved.<br>
+	 * 			{@code false} otherwise.
 	 */
-	private void kingHasBeenCheck(Piece piece, Tile[] tiles) {
-		Objects.requireNonNull(piece, "There must be a piece moving.");
-		Objects.requireNonNull(tiles, "The piece must be moving.");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
+	private static boolean hasMoved(Piece piece) {
+		if (piece instanceof King)	return ((King)piece).hasMoved();
+		if (piece instanceof Rook)	return ((Rook)piece).hasMoved();
+		if (piece instanceof Pawn)	return ((Pawn)piece).hasMoved();
+		return false;
+	}
+	
+	/**
+	 * Make {@code move} and determine if it puts the <b>opponent</b> {@link King} in <b>check</b> or <b>check mate</b>.<br>
+	 * The opponent is in <b>check mate</b> when it is in <b>check</b> and has no legal move; see {@link #generateLegal(MoveList)}.
+	 * 
+	 * @param move is the {@link Move}.
+	 */
+	private void kingHasBeenCheck(int move) {
+		Player player = this.currentPlayer;
+		this.makeMove(move);
 		
-		//Store original Piece positions
-		Piece tiles0OrigPiece = tiles[0].getPiece(), tiles1OrigPiece = tiles[1].getPiece();
+		//Find both King
+		King opponentKing	= (King)this.getTile(this.bitboard.getKingSquare(player.getPlayerColor().opposite())).getPiece();
+		King allyKing		= (King)this.getTile(this.bitboard.getKingSquare(player.getPlayerColor())).getPiece();
 		
-		//temporarily move <code>Piece</code>.
-		tiles[1].setPiece(tiles0OrigPiece);
-		tiles[0].setPiece(null);
+		//A legal move never leaves the Ally's King in check
+		allyKing.setIsCheck(false);
+		opponentKing.setIsCheck(this.getCheckers() != 0);
+		if (!opponentKing.isCheck()) return;
 		
-		//Find both King
-		Tile opponentKingTile = this.findKing(piece, true), allyKingTile = this.findKing(piece, false);
-		King opponentKing = (King)opponentKingTile.getPiece(), allyKing = (King)allyKingTile.getPiece();
-		
-		this.attackPiece = null;
-		if (piece.checkKing(this.board, this.tiles, opponentKingTile)) {			//Piece has moved to check the Opponent's King.
-			if (!piece.canUnCheck(this, this.tiles)) {						//Determine if the King can move itself to safety
-				if (piece.protect(opponentKingTile, this.board, this.tiles)) {		//Determine if a Piece can move to protect the King
-					JOptionPane.showMessageDialog(null, "Check!", "Check!", JOptionPane.INFORMATION_MESSAGE);
-					attackPiece = piece;
-					tiles[0].setPiece(tiles0OrigPiece);
-					tiles[1].setPiece(tiles1OrigPiece);
-					this.advance();
-					this.gameOver = false;
-				} else { //No Piece can protect the King
-					JOptionPane.showMessageDialog(null, "Check Mate!\n" + this.currentPlayer.getName() + ", wins!", "Check Mate", JOptionPane.INFORMATION_MESSAGE);
-					tiles[0].setPiece(tiles0OrigPiece);
-					tiles[1].setPiece(tiles1OrigPiece);
-					this.advance();
-					this.gameOver = true;
-				}
-			} else {	//Piece is able to protect the King.
-				JOptionPane.showMessageDialog(null, "Check!", "Check", JOptionPane.INFORMATION_MESSAGE);
-				opponentKing.setIsCheck(true);
-				attackPiece = piece;
-				tiles[0].setPiece(tiles0OrigPiece);
-				tiles[1].setPiece(tiles1OrigPiece);
-				this.advance();
-				this.gameOver = false;
-			}
-		} else if (allyKing.isCheck() && attackPiece != null) { //Piece has moved to protect the Ally's King
-			if (attackPiece.protecting(this, tiles)) {
-				allyKing.setIsCheck(false);
-				tiles[0].setPiece(tiles0OrigPiece);
-				tiles[1].setPiece(tiles1OrigPiece);
-				this.advance();
-			} else JOptionPane.showMessageDialog(null, "You must protect the King!", "Carefull!", JOptionPane.WARNING_MESSAGE);
-		} else { //Piece has moved
-			tiles[0].setPiece(tiles0OrigPiece);
-			tiles[1].setPiece(tiles1OrigPiece);
-			this.advance();
+		this.moveList.clear();
+		this.generateLegal(this.moveList);
+		if (this.moveList.size() == 0) {	//No move gets the King out of check
+			this.listener.checkMate(player);
+			this.gameOver = true;
+		} else {
+			this.listener.check();
+			this.gameOver = false;
 		}
 	}
 	
+	/**
+	 * Determine if the current {@link Player} making {@code move} leaves its own {@link King} out of <b>check</b>.<br>
+	 * {@code move} must follow how its {@link Piece} moves; see {@link #generateLegal(MoveList)}.
+	 * 
+	 * @param move is the {@link Move}.
+	 * 
+	 * @return	{@code true} if the {@code King} is safe after the move.<br>
+	 * 			{@code false} otherwise.
+	 */
+	public boolean keepsKingSafe(int move) {
+		PieceColor color = this.currentPlayer.getPlayerColor();
+		int king = this.bitboard.getKingSquare(color);
+		long checkers = this.getCheckers(color, king);
+		if (Long.bitCount(checkers) > 1 && Move.getFrom(move) != king) return false;
+
+		//Only a King moving needs the squares the enemy attacks
+		long danger = Move.getFrom(move) != king ? 0 : this.computeAttackMap(color.opposite(), this.bitboard.getOccupied() & ~(1L << king));
+		long evasions = checkers == 0 ? -1L : checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+		return this.keepsKingSafe(move, color, king, danger, evasions, this.getPinned(color, king));
+	}
+	
+	/**
+	 * Determine if making {@code move} leaves the {@link King} that is {@code color} out of <b>check</b>.
+	 * 
+	 * @param move is the {@link Move}.
+	 * @param color is the {@link PieceColor} moving.
+	 * @param king is the square of the {@code King}.
+	 * @param danger is every square attacked by the enemy, seen through the {@code King}.
+	 * @param evasions	is every square that captures or blocks the {@link Piece} giving <b>check</b>.<br>
+	 * 					Every square if the {@code King} is not in <b>check</b>.
+	 * @param pinned is every <i>pinned</i> {@code Piece}.
+	 * 
+	 * @return	{@code true} if the {@code King} is safe after the move.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private boolean keepsKingSafe(int move, PieceColor color, int king, long danger, long evasions, long pinned) {
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		if (from == king) return Move.isCastle(move) || (danger & 1L << to) == 0;
+		
+		//En passant empties two squares of one row, so it is made to be sure
+		if (Move.isEnPassant(move)) {
+			this.makeMove(move);
+			boolean safe = !this.isAttacked(king, color.opposite());
+			this.unmakeMove();
+			return safe;
+		} if ((evasions & 1L << to) == 0) return false;
+		return (pinned & 1L << from) == 0 || (Attacks.line(king, from) & 1L << to) != 0;
+	}
+	
+	/**
+	 * Determine why {@code piece} may not make {@code move}.<br>
+	 * The board is left exactly as it was found.
+	 * 
+	 * @param piece is the {@link Piece} moving.
+	 * @param move is the {@link Move} of {@code piece}.
+	 * 
+	 * @return	the reason the move is illegal.<br>
+	 * 			{@code null} if the move is legal.
+	 */
+	private String getIllegalReason(Piece piece, int move) {
+		if (Move.isCastle(move))	return ((King)piece).hasCastled(this, move) ? null : "The King cannot castle now!";
+		if (!piece.getLegal(this.board, move))							return piece.toString() + " can not move like this!";
+		if (!this.keepsKingSafe(move))									return "This move will put the King in check!";
+		if (piece.collide(this, move))									return piece.toString() + " cannot jump!";
+		if (piece.isAlly(this.getTile(Move.getTo(move)).getPiece()))	return "You cannot capture Allies";
+		return null;
+	}
+	
+	/**
+	 * Determine if {@code square} is attacked by any {@link Piece} that is {@code color}.<br>
+	 * This is one lookup in {@link #getAttackMap(PieceColor)}.
+	 * 
+	 * @param square is the square.
+	 * @param color is the {@link PieceColor} of the attackers.
+	 * 
+	 * @return	{@code true} if {@code square} is attacked.<br>
+	 * 			{@code false} otherwise.
+	 */
+	public boolean isAttacked(int square, PieceColor color) {
+		return (this.getAttackMap(color) & 1L << square) != 0;
+	}
+	
+	/**
+	 * Determine if the current {@link Player} may make {@code move}.<br>
+	 * This is a query only: no {@link Piece} and no {@link Tile} is changed.
+	 * 
+	 * @param move is the {@link Move}.
+	 * 
+	 * @return	{@code true} if the current {@code Player} may make the move.<br>
+	 * 			{@code false} otherwise.
+	 */
+	public boolean isLegal(int move) {
+		Piece piece = this.getTile(Move.getFrom(move)).getPiece();
+		if (piece == null || this.currentPlayer.getPlayerColor() != piece.getPieceColor()) return false;
+		return this.getIllegalReason(piece, move) == null;
+	}
+	
+	/**
+	 * Determine if the {@link Piece} on {@code tiles[0]} may move to {@code tiles[1]}.
+	 * 
+	 * @param tiles are the original and new positions of a {@code Piece}.
+	 * 
+	 * @return	{@code true} if the current {@link Player} may make the move.<br>
+	 * 			{@code false} otherwise.
+	 * 
+	 * @see #isLegal(int)
+	 */
+	public boolean isLegal(Tile[] tiles) {
+		Objects.requireNonNull(tiles, "The piece must be moving.");
+		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
+		return this.isLegal(this.createMove(tiles[0].getIndex(), tiles[1].getIndex(), null));
+	}
+	
 	/**
 	 * Move {@link Piece} from {@link #tiles}{@code [0]} to {@code tiles[1]}.
 	 */
 	private void movePiece() {
-		Piece tile0Piece = this.tiles[0].getPiece(), tile1Piece = this.tiles[1].getPiece();
+		if (this.ply == maxPly) {	//The undo stack is full, so start it again from the position reached
+			Tile[] tiles		= this.tiles.clone();
+			int[] scores		= new int[] {this.players[0].getScore(), this.players[1].getScore()};
+			this.setPosition(this.getPosition());
+			System.arraycopy(tiles, 0, this.tiles, 0, tiles.length);
+			for (int i = 0; i < scores.length; i++) this.players[i].setScore(scores[i]);
+		}
+		
+		Piece tile0Piece = this.tiles[0].getPiece();
 		if (this.currentPlayer.getPlayerColor() != tile0Piece.getPieceColor()) return;
-		if (!tile0Piece.getLegal(this.board, this.tiles)) {
-			JOptionPane.showMessageDialog(null, tile0Piece.toString() + " can not move like this!", "Careful!", JOptionPane.PLAIN_MESSAGE);
+		int from = this.tiles[0].getIndex(), to = this.tiles[1].getIndex();
+		int move = this.createMove(from, to, null);
+		String reason = this.getIllegalReason(tile0Piece, move);
+		if (reason != null) {
+			this.listener.illegalMove(reason);
 			return;
-		} if (tile0Piece.determineKingisCheck(this, this.tiles)) {	//Determine if Pawn moves away from Ally King.
-			JOptionPane.showMessageDialog(null, "This move will put the King in check!", "Careful!", JOptionPane.PLAIN_MESSAGE);
-			return;
-		} if (Piece.collide(tile0Piece.setTileCollide(board, tiles))) {	//Determine if a Pawn collides with any other Pawn.
-			JOptionPane.showMessageDialog(null, tile0Piece.toString() + " cannot jump!", "Careful!", JOptionPane.PLAIN_MESSAGE);
-			return;
-		} if (tile1Piece == null) {	//Capturing
-			this.tempAdvance();
-			this.kingHasBeenCheck(tile0Piece, tiles);
-			return;
-		} if (tile1Piece.isAlly(tile0Piece)) { //Allies can't capture each other.
-			JOptionPane.showMessageDialog(null, "You cannot capture Allies", "Careful!", JOptionPane.PLAIN_MESSAGE);
-			return;
-		} try {
-			this.currentPlayer.increaseScore(tile1Piece.getValue());
+		} if (Move.isPromotion(move)) {	//Pawn is getting promoted.
+			move = this.createMove(from, to, this.listener.choosePromotion((Pawn)tile0Piece));
+		} this.kingHasBeenCheck(move);
+		
+		Piece captured = this.undoCaptured[this.ply - 1];
+		if (captured != null) try {	//Capturing
+			this.nextPlayer.increaseScore(captured.getValue());
 		} catch (IllegalAccessException iae) {
 			throw new IllegalStateException("King somehow got captured.");
-		} this.tempAdvance();
-		this.kingHasBeenCheck(tile0Piece, tiles);
+		} this.listener.boardChanged(this);
+	}
+	
+	/**
+	 * Make {@code move} for the current {@link Player}, who then becomes the next {@code Player}.<br>
+	 * Castling moves the {@link Rook}, <i>en passant</i> removes the captured {@link Pawn} and a promotion replaces the {@code Pawn}.
+	 * Everything needed to take the move back is pushed onto the undo stack; see {@link #unmakeMove()}.<br>
+	 * {@code move} is not checked and no {@link ChessBoardListener} is told about it.
+	 * 
+	 * @param move is the {@link Move}.
+	 * 
+	 * @throws IllegalStateException if the undo stack already holds {@link #maxPly} moves.
+	 */
+	public void makeMove(int move) throws IllegalStateException {
+		if (this.ply == maxPly) throw new IllegalStateException("No more than " + maxPly + " moves can be taken back.");
+		int from = Move.getFrom(move), to = Move.getTo(move), ply = this.ply++;
+		Tile fromTile = this.getTile(from), toTile = this.getTile(to);
+		Piece piece = fromTile.getPiece(), captured = toTile.getPiece();
+		
+		if (Move.isEnPassant(move)) {	//The captured Pawn is beside the Pawn moving
+			Tile victim = this.board[from >>> 3][to & 7];
+			captured = victim.getPiece();
+			victim.setPiece(null);
+		}
+		
+		this.undoMoves[ply]				= move;
+		this.undoPieces[ply]			= piece;
+		this.undoCaptured[ply]			= captured;
+		this.undoCastlingRights[ply]	= this.castlingRights;
+		this.undoEnPassant[ply]			= this.enPassant;
+		this.undoHalfmoveClock[ply]		= this.halfmoveClock;
+		this.undoHasMoved[ply]			= hasMoved(piece) ? 1 : 0;
+		this.undoAttackMaps[2 * ply]	= this.attackMaps[0];
+		this.undoAttackMaps[2 * ply + 1]	= this.attackMaps[1];
+		this.undoAttackMapsValid[ply]	= this.attackMapsValid;
+		this.attackMapsValid			= false;
+		
+		//Only a Pawn that has just advanced two Tile can be captured en passant
+		this.setAdvantage(false);
+		
+		piece.commit(this.board, move);
+		toTile.setPiece(piece);
+		fromTile.setPiece(null);
+		
+		if (Move.isCastle(move)) {	//The Rook jumps over the King
+			int rookFrom = (to & 7) > (from & 7) ? to + 1 : to - 2, rookTo = (from + to) >>> 1;
+			Piece rook = this.getTile(rookFrom).getPiece();
+			if (hasMoved(rook)) this.undoHasMoved[ply] |= 2;
+			rook.commit(this.board, Move.create(rookFrom, rookTo));
+			this.getTile(rookTo).setPiece(rook);
+			this.getTile(rookFrom).setPiece(null);
+		}
+		
+		PieceType promotion = Move.getPromotion(move);
+		if (promotion != null) ((Pawn)piece).promote(toTile, promotion);
+		
+		this.castlingRights	&= castlingMasks[from] & castlingMasks[to];
+		this.enPassant		= Move.isDoublePush(move) ? (from + to) >>> 1 : 64;
+		this.halfmoveClock	= piece instanceof Pawn || captured != null ? 0 : this.halfmoveClock + 1;
+		if (!piece.isWhite()) this.fullmoveNumber++;
+		this.swapPlayers();
+	}
+	
+	/**
+	 * Pass the turn to the next {@link Player} without moving (a <i>null move</i>), as a {@link Search} does to see
+	 * if the position is good enough even then.<br>
+	 * Only the right to capture <i>en passant</i> is lost. It is taken back by {@link #unmakeMove()} like any other move.
+	 * 
+	 * @throws IllegalStateException if the current {@link Player} is in <b>check</b>, or the undo stack already holds {@link #maxPly} moves.
+	 */
+	public void makeNullMove() throws IllegalStateException {
+		if (this.getCheckers() != 0) throw new IllegalStateException("A Player in check must move.");
+		if (this.ply == maxPly) throw new IllegalStateException("No more than " + maxPly + " moves can be taken back.");
+		int ply = this.ply++;
+		this.undoMoves[ply]				= Move.none;
+		this.undoPieces[ply]			= null;
+		this.undoCaptured[ply]			= null;
+		this.undoCastlingRights[ply]	= this.castlingRights;
+		this.undoEnPassant[ply]			= this.enPassant;
+		this.undoHalfmoveClock[ply]		= this.halfmoveClock;
+		this.undoHasMoved[ply]			= 0;
+		this.undoAttackMaps[2 * ply]	= this.attackMaps[0];
+		this.undoAttackMaps[2 * ply + 1]	= this.attackMaps[1];
+		this.undoAttackMapsValid[ply]	= this.attackMapsValid;
+		
+		this.setAdvantage(false);
+		this.enPassant = 64;
+		this.halfmoveClock++;
+		if (this.currentPlayer.getPlayerColor() == PieceColor.Black) this.fullmoveNumber++;
+		this.swapPlayers();
 	}
 	
 	/**
@@ -332,6 +1040,45 @@ public final class ChessBoard {
 		}
 	}
 	
+	/**
+	 * Read {@code str} as a legal {@link Move} of the position, with the flags {@link #createMove(int, int, PieceType)} gives it.<br>
+	 * A {@link Pawn} reaching the last row without a promotion is promoted to a {@link Queen}.
+	 * 
+	 * @param str is the move in long algebraic notation, such as {@code e2e4} or {@code e7e8q}; see {@link Move#toString(int)}.
+	 * 
+	 * @return the {@code Move}.
+	 * 
+	 * @throws IllegalArgumentException if {@code str} is not a legal move.
+	 * @throws NullPointerException if {@code str} is {@code null}.
+	 */
+	public int parseMove(String str) throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(str, "There must be a move.");
+		if (str.length() != 4 && str.length() != 5) throw new IllegalArgumentException("Illegal move: " + str);
+		int from = Move.parseSquare(str.substring(0, 2)), to = Move.parseSquare(str.substring(2, 4));
+		PieceType promotion = null;
+		if (str.length() == 5) switch (str.charAt(4)) {
+		case 'n':
+			promotion = PieceType.Knight;
+			break;
+		case 'b':
+			promotion = PieceType.Bishop;
+			break;
+		case 'r':
+			promotion = PieceType.Rook;
+			break;
+		case 'q':
+			promotion = PieceType.Queen;
+			break;
+		default:
+			throw new IllegalArgumentException("Illegal promotion: " + str);
+		}
+		
+		int move = this.createMove(from, to, promotion);
+		if ((promotion != null && Move.getPromotion(move) != promotion) || !this.isLegal(move))
+			throw new IllegalArgumentException("Illegal move: " + str);
+		return move;
+	}
+	
 	/**Place the {@link Piece} on {@link #board}*/
 	private void placePieces() {
 		int[][] row		= {{6,7}, {1,0}};	//Put piece at top or bottom of board
@@ -346,8 +1093,6 @@ public final class ChessBoard {
 					piece = this.players[player].getPieces()[indexInList];
 					piece.reset();
 					tile.setPiece(piece);							//Set piece on Tile
-					tile.setText(tile.getPiece().toString());		//Set GUI elements
-					tile.setForeground(players[player].getPlayerColor().color);
 					indexInList ++;
 				}
 			} indexInList = 0;
@@ -358,6 +1103,12 @@ public final class ChessBoard {
 	public void reset() {
 		this.resetBoard();
 		this.resetTiles();
+		this.ply			= 0;
+		this.castlingRights	= whiteKingSide | whiteQueenSide | blackKingSide | blackQueenSide;
+		this.enPassant		= 64;
+		this.halfmoveClock	= 0;
+		this.fullmoveNumber	= 1;
+		this.attackMapsValid	= false;
 		this.gameOver		= false;
 		this.currentIndex	= 0;
 		this.nextIndex		= 1;
@@ -370,12 +1121,11 @@ public final class ChessBoard {
 		for (Tile[] row : this.board) {
 			for (Tile tile : row) {
 				tile.setPiece(null);
-				tile.setForeground(null);
-				tile.setText(null);
 			}
 		} for (Player player : this.players) {
 			player.setScore(0);
 		} this.placePieces();
+		this.listener.boardChanged(this);
 	}
 	
 	/**Empty {@link #tiles}.*/
@@ -383,6 +1133,17 @@ public final class ChessBoard {
 		Arrays.fill(this.tiles, null);
 	}
 	
+	/**
+	 * Change the {@link Pawn#advantage()} of the {@link Pawn} that passed over {@link #enPassant}, if any, to {@code bool}.
+	 * 
+	 * @param bool is the new value.
+	 */
+	private void setAdvantage(boolean bool) {
+		if (this.enPassant == 64) return;
+		Piece pawn = this.getTile(this.enPassant < 32 ? this.enPassant + 8 : this.enPassant - 8).getPiece();
+		if (pawn instanceof Pawn) ((Pawn)pawn).setAdvantage(bool);
+	}
+	
 	/**
 	 * Change {@link #gameOver} to {@code bool}.
 	 * 
@@ -392,6 +1153,191 @@ public final class ChessBoard {
 		this.gameOver = bool;
 	}
 	
+	/**
+	 * Change whether {@code piece} has moved to {@code bool}.
+	 * 
+	 * @param piece is the {@link Piece}.
+	 * @param bool is the new value.
+	 */
+	private static void setHasMoved(Piece piece, boolean bool) {
+		if (piece instanceof King)		((King)piece).setHasMoved(bool);
+		else if (piece instanceof Rook)	((Rook)piece).setHasMoved(bool);
+		else if (piece instanceof Pawn)	((Pawn)piece).setFirstMove(bool);
+	}
+	
+	/**
+	 * Change {@link #listener} to {@code listener}.
+	 * 
+	 * @param listener is the new {@link ChessBoardListener}.
+	 */
+	public void setListener(ChessBoardListener listener) {
+		this.listener = Objects.requireNonNull(listener, "ChessBoard must have a listener.");
+	}
+	
+	/**
+	 * Set up the position written in <i>Forsyth-Edwards Notation</i>, such as {@link #startPosition}.<br>
+	 * Every field is read and checked before anything changes, so a position that is not legal leaves the {@code ChessBoard} as it was.
+	 * No move can then be taken back and the score of every {@link Player} is {@code 0}.
+	 * The halfmove clock and fullmove number may be left out, and are then {@code 0} and {@code 1}.
+	 * <p>A {@link Pawn} has moved unless it is on its first row, and a {@link King} or {@link Rook} has moved
+	 * unless a castling right still needs it. A castling right whose {@code King} or {@code Rook} is missing is dropped.</p>
+	 * 
+	 * @param fen is the position.
+	 * 
+	 * @throws IllegalArgumentException if {@code fen} is not a position.
+	 * @throws NullPointerException if {@code fen} is {@code null}.
+	 */
+	public void setPosition(String fen) throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(fen, "There must be a position.");
+		int[] bounds = this.fieldBounds, placement = this.placement;
+		int count = 0;
+		for (int i = 0, length = fen.length(); i < length; count++) {
+			while (i < length && Character.isWhitespace(fen.charAt(i))) i++;
+			if (i == length) break;
+			if (count == 6) throw new IllegalArgumentException("Illegal position: " + fen);
+			bounds[2 * count] = i;
+			while (i < length && !Character.isWhitespace(fen.charAt(i))) i++;
+			bounds[2 * count + 1] = i;
+		} if (count < 4) throw new IllegalArgumentException("Illegal position: " + fen);
+		
+		//Pieces, row by row from the back rank of Black
+		int row = 0, column = 0, whiteKings = 0, blackKings = 0;
+		for (int i = bounds[0]; i < bounds[1]; i++) {
+			char c = fen.charAt(i);
+			if (c == '/') {
+				if (column != 8 || ++row > 7) throw new IllegalArgumentException("Illegal position: " + fen);
+				column = 0;
+			} else if (c >= '1' && c <= '8') {
+				int empty = column + c - '0';
+				if (empty > 8) throw new IllegalArgumentException("Illegal position: " + fen);
+				for (; column < empty; column++) placement[Bitboard.square(row, column)] = -1;
+			} else {
+				int index = pieceLetters.indexOf(c);
+				if (index < 0 || column > 7) throw new IllegalArgumentException("Illegal position: " + fen);
+				if (c == 'K')		whiteKings++;
+				else if (c == 'k')	blackKings++;
+				if (index % 6 == PieceType.Pawn.ordinal() && (row == 0 || row == 7))
+					throw new IllegalArgumentException("A Pawn cannot be on the first or last row: " + fen);
+				placement[Bitboard.square(row, column++)] = index;
+			}
+		} if (row != 7 || column != 8) throw new IllegalArgumentException("Illegal position: " + fen);
+		if (whiteKings != 1 || blackKings != 1) throw new IllegalArgumentException("Each Player must have one King: " + fen);
+		
+		//Side to move
+		PieceColor color;
+		if (bounds[3] - bounds[2] != 1) throw new IllegalArgumentException("Illegal side to move: " + fen);
+		switch (fen.charAt(bounds[2])) {
+		case 'w':
+			color = PieceColor.White;
+			break;
+		case 'b':
+			color = PieceColor.Black;
+			break;
+		default:
+			throw new IllegalArgumentException("Illegal side to move: " + fen);
+		}
+		
+		//The Player not to move cannot be in check, or its King could be captured
+		Bitboard bitboard = this.positionBitboard;
+		bitboard.clear();
+		for (int square = 0; square < 64; square++) {
+			if (placement[square] >= 0) bitboard.add(this.getPositionPiece(square, placement[square]), square);
+		} if (getCheckers(bitboard, color.opposite(), bitboard.getKingSquare(color.opposite())) != 0)
+			throw new IllegalArgumentException("The Player not to move is in check: " + fen);
+		
+		//Castling rights, only kept while the King and Rook are on their first squares
+		int castlingRights = 0;
+		if (bounds[5] - bounds[4] != 1 || fen.charAt(bounds[4]) != '-') for (int i = bounds[4]; i < bounds[5]; i++) {
+			int index = "KQkq".indexOf(fen.charAt(i));
+			if (index < 0) throw new IllegalArgumentException("Illegal castling rights: " + fen);
+			castlingRights |= 1 << index;
+		} for (int square : castlingSquares) {
+			int index = (square & 7) == 4 ? PieceType.King.ordinal() : PieceType.Rook.ordinal();
+			if (placement[square] != (square < 32 ? index + 6 : index)) castlingRights &= castlingMasks[square];
+		}
+		
+		//En passant, only after a Pawn of the other color has passed over the square
+		int enPassant = 64;
+		if (bounds[7] - bounds[6] != 1 || fen.charAt(bounds[6]) != '-') {
+			int file = fen.charAt(bounds[6]) - 'a', rank = bounds[7] - bounds[6] == 2 ? '8' - fen.charAt(bounds[6] + 1) : -1;
+			if (file < 0 || file > 7 || rank != (color == PieceColor.White ? 2 : 5))
+				throw new IllegalArgumentException("Illegal en passant square: " + fen);
+			enPassant = Bitboard.square(rank, file);
+			if (placement[rank == 2 ? enPassant + 8 : enPassant - 8] != (rank == 2 ? 6 : 0))
+				throw new IllegalArgumentException("No Pawn passed over the en passant square: " + fen);
+		}
+		
+		//Move clocks
+		int halfmoveClock = count > 4 ? parseClock(fen, bounds[8], bounds[9]) : 0;
+		int fullmoveNumber = count > 5 ? parseClock(fen, bounds[10], bounds[11]) : 1;
+		if (halfmoveClock < 0 || fullmoveNumber < 1) throw new IllegalArgumentException("Illegal move clocks: " + fen);
+		
+		//Every field is legal, so the position can be set up
+		this.resetTiles();
+		for (int square = 0; square < 64; square++) {
+			int index = placement[square];
+			Piece piece = null;
+			if (index >= 0) {
+				piece = this.getPositionPiece(square, index);
+				piece.reset();
+				if (piece instanceof Pawn)							((Pawn)piece).setFirstMove(square >>> 3 != (index < 6 ? 6 : 1));
+				else if (piece instanceof King || piece instanceof Rook)	setHasMoved(piece, (castlingRights & ~castlingMasks[square]) == 0);
+			} this.getTile(square).setPiece(piece);
+		}
+		
+		this.currentIndex	= this.players[0].getPlayerColor() == color ? 0 : 1;
+		this.nextIndex		= 1 - this.currentIndex;
+		this.currentPlayer	= this.players[this.currentIndex];
+		this.nextPlayer		= this.players[this.nextIndex];
+		this.castlingRights	= castlingRights;
+		this.enPassant		= enPassant;
+		this.halfmoveClock	= halfmoveClock;
+		this.fullmoveNumber	= fullmoveNumber;
+		this.setAdvantage(true);
+		
+		for (Player player : this.players) {
+			player.setScore(0);
+		} this.ply				= 0;
+		this.attackMapsValid	= false;
+		this.gameOver			= false;
+		((King)this.getTile(this.bitboard.getKingSquare(color)).getPiece()).setIsCheck(this.getCheckers() != 0);
+		this.listener.boardChanged(this);
+	}
+	
+	/**
+	 * Get the {@link Piece} {@link #setPosition(String)} puts on {@code square}, creating it the first time; see {@link #positionPieces}.
+	 * 
+	 * @param square is the square.
+	 * @param index is the index of the {@code Piece} in {@link #pieceLetters}.
+	 * 
+	 * @return the {@code Piece}.
+	 */
+	private Piece getPositionPiece(int square, int index) {
+		Piece piece = this.positionPieces[12 * square + index];
+		if (piece == null) piece = this.positionPieces[12 * square + index] = types[index % 6].create(index < 6 ? PieceColor.White : PieceColor.Black);
+		return piece;
+	}
+	
+	/**
+	 * Read a move clock of a position written in <i>Forsyth-Edwards Notation</i>; see {@link #setPosition(String)}.
+	 * 
+	 * @param fen is the position.
+	 * @param start is the index the clock starts at.
+	 * @param end is the index after the clock.
+	 * 
+	 * @return	the clock.<br>
+	 * 			{@code -1} if it is not a number, or too large.
+	 */
+	private static int parseClock(String fen, int start, int end) {
+		if (start == end || end - start > 9) return -1;
+		int clock = 0;
+		for (int i = start; i < end; i++) {
+			char c = fen.charAt(i);
+			if (c < '0' || c > '9') return -1;
+			clock = 10 * clock + c - '0';
+		} return clock;
+	}
+	
 	/**
 	 * Place a {@link Tile} clicked on in the first available place.
 	 * 
@@ -406,18 +1352,68 @@ public final class ChessBoard {
 			else this.tiles[1] = tile;
 	}
 	
-	/**temporary moving*/
-	private void tempAdvance() {
-		this.tiles[1].setPiece(this.tiles[0].getPiece());
+	/**Make the next {@link Player} the current {@code Player}.*/
+	private void swapPlayers() {
+		this.currentIndex	= ++this.currentIndex % 2;
+		this.nextIndex		= ++this.nextIndex % 2;
+		this.currentPlayer	= this.players[this.currentIndex];
+		this.nextPlayer		= this.players[this.nextIndex];
 	}
 	
 	@Override
 	public String toString() {
-		String str = "";
+		StringBuilder str = new StringBuilder();
 		for (Tile[] row : this.board) {
 			for (Tile tile : row) {
-				str += tile.getPiece() == null ? tile.toString() + "\t" : tile.getPiece().toString();
-			} str += "\n";
-		} return str;
+				if (tile.getPiece() == null)	str.append(tile).append('\t');
+				else							str.append(tile.getPiece());
+			} str.append('\n');
+		} return str.toString();
+	}
+	
+	/**
+	 * Take back the last move made with {@link #makeMove(int)}.<br>
+	 * Every {@link Tile}, every {@link Piece} and the current {@link Player} are as they were before the move.
+	 * 
+	 * @throws IllegalStateException if no move has been made.
+	 */
+	public void unmakeMove() throws IllegalStateException {
+		if (this.ply == 0) throw new IllegalStateException("There is no move to take back.");
+		int ply = --this.ply, move = this.undoMoves[ply];
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		Piece piece = this.undoPieces[ply], captured = this.undoCaptured[ply];
+		this.swapPlayers();
+		this.halfmoveClock = this.undoHalfmoveClock[ply];
+		if (this.currentPlayer.getPlayerColor() == PieceColor.Black) this.fullmoveNumber--;
+		
+		if (move == Move.none) {	//A null move; see makeNullMove()
+			this.enPassant = this.undoEnPassant[ply];
+			this.setAdvantage(true);
+			return;
+		}
+		
+		if (Move.isCastle(move)) {	//The Rook goes back to its corner
+			int rookFrom = (to & 7) > (from & 7) ? to + 1 : to - 2, rookTo = (from + to) >>> 1;
+			Piece rook = this.getTile(rookTo).getPiece();
+			setHasMoved(rook, (this.undoHasMoved[ply] & 2) != 0);
+			this.getTile(rookFrom).setPiece(rook);
+			this.getTile(rookTo).setPiece(null);
+		}
+		
+		this.getTile(from).setPiece(piece);
+		if (Move.isEnPassant(move)) {
+			this.getTile(to).setPiece(null);
+			this.board[from >>> 3][to & 7].setPiece(captured);
+		} else this.getTile(to).setPiece(captured);
+		
+		setHasMoved(piece, (this.undoHasMoved[ply] & 1) != 0);
+		if (piece instanceof Pawn) ((Pawn)piece).setAdvantage(false);
+		
+		this.castlingRights	= this.undoCastlingRights[ply];
+		this.enPassant		= this.undoEnPassant[ply];
+		this.attackMaps[0]	= this.undoAttackMaps[2 * ply];
+		this.attackMaps[1]	= this.undoAttackMaps[2 * ply + 1];
+		this.attackMapsValid	= this.undoAttackMapsValid[ply];
+		this.setAdvantage(true);
 	}
 }
\ No newline at end of file
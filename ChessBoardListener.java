@@ -0,0 +1,49 @@
+/**
+ * The {@code ChessBoardListener} interface is how a {@link ChessBoard}
+ * tells a view what happened during a game. <br>
+ * Every method has an empty default so a {@code ChessBoard} can run without any view.
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public interface ChessBoardListener {
+	/**
+	 * Called after {@link Tile} on the {@link ChessBoard} have changed.
+	 *
+	 * @param board is the {@code ChessBoard} that changed.
+	 */
+	default void boardChanged(ChessBoard board) {}
+
+	/**
+	 * Called when a move puts the opponent {@link King} in <b>check</b>.
+	 */
+	default void check() {}
+
+	/**
+	 * Called when a move puts the opponent {@link King} in <b>check mate</b>.
+	 *
+	 * @param winner is the {@link Player} who made the move.
+	 */
+	default void checkMate(Player winner) {}
+
+	/**
+	 * Called when a move is rejected.
+	 *
+	 * @param reason is why the move was rejected.
+	 */
+	default void illegalMove(String reason) {}
+
+	/**
+	 * Choose the {@link PieceType} a {@link Pawn} is promoted to.<br>
+	 * This is only asked once a legal move reaches the last row, never while a move is being checked.
+	 *
+	 * @param pawn is the {@code Pawn} being promoted.
+	 *
+	 * @return	the {@code PieceType} of the new {@link Piece}.<br>
+	 * 			{@code null} for {@link PieceType#Queen}.
+	 */
+	default PieceType choosePromotion(Pawn pawn) {
+		return PieceType.Queen;
+	}
+}
@@ -21,7 +21,7 @@ import javax.swing.UIManager;
  * @since 21 March 2020
  * @author MrPineapple065
  */
-public final class ChessBoardPanel extends JPanel implements ActionListener {
+public final class ChessBoardPanel extends JPanel implements ActionListener, ChessBoardListener {
 	/**
 	 * serialVersionUID
 	 */
@@ -37,6 +37,11 @@ public final class ChessBoardPanel extends JPanel implements ActionListener {
 	 */
 	private ChessBoard board;
 	
+	/**
+	 * A 2D array containing the {@link TileButton} drawing each {@link Tile} of {@link #board}.
+	 */
+	private final TileButton[][] buttons = new TileButton[8][8];
+	
 	/**
 	 * An {@code Array} holding all {@link JLabel} for all {@link Player} in game. <br>
 	 * Used for GUI.
@@ -59,7 +64,7 @@ public final class ChessBoardPanel extends JPanel implements ActionListener {
 		super();
 		if (p.length != 2) throw new IllegalArgumentException("The number of Players exceedes the expected range");
 		this.players = p;
-		this.board = new ChessBoard(this, this.players);
+		this.board = new ChessBoard(this.players);
 		
 		//Set Default GUI Elements
 		setLayout(new GridLayout(10, 9));
@@ -74,6 +79,7 @@ public final class ChessBoardPanel extends JPanel implements ActionListener {
 		//Creates other GUI elements
 		this.createLabels();
 		this.createTiles();
+		this.board.setListener(this);
 	}
 	
 	
@@ -101,6 +107,42 @@ public final class ChessBoardPanel extends JPanel implements ActionListener {
 		}
 	}
 	
+	@Override
+	public void boardChanged(ChessBoard board) {
+		for (TileButton[] row : this.buttons) {
+			for (TileButton button : row) {
+				button.update();
+			}
+		}
+	}
+	
+	@Override
+	public void check() {
+		JOptionPane.showMessageDialog(null, "Check!", "Check!", JOptionPane.INFORMATION_MESSAGE);
+	}
+	
+	@Override
+	public void checkMate(Player winner) {
+		JOptionPane.showMessageDialog(null, "Check Mate!\n" + winner.getName() + ", wins!", "Check Mate", JOptionPane.INFORMATION_MESSAGE);
+	}
+	
+	@Override
+	public PieceType choosePromotion(Pawn pawn) {
+		PieceType[] options = {PieceType.Queen, PieceType.Bishop, PieceType.Rook, PieceType.Knight};
+		String[] names = new String[options.length];
+		for (int i = 0; i < options.length; i++) {
+			names[i] = options[i].create(pawn.getPieceColor()).toString();
+		}
+		
+		int choice = JOptionPane.showOptionDialog(null, "Which piece would you like to promote the pawn to?", "Promotion!", JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, names, 0);
+		return choice < 0 ? null : options[choice];
+	}
+	
+	@Override
+	public void illegalMove(String reason) {
+		JOptionPane.showMessageDialog(null, reason, "Careful!", JOptionPane.PLAIN_MESSAGE);
+	}
+	
 	/**
 	 * Display the controls of the game.
 	 */
@@ -145,7 +187,9 @@ public final class ChessBoardPanel extends JPanel implements ActionListener {
 			add(new JLabel(String.valueOf(num), JLabel.CENTER));
 			num--;
 			for (Tile tile : row) {
-				this.add(tile);
+				TileButton button = new TileButton(this, tile);
+				this.buttons[tile.getRow()][tile.getColumn()] = button;
+				this.add(button);
 			}
 		}
 		
@@ -1,5 +1,3 @@
-import java.util.Objects;
-
 /**
  * This {@code King} class represents a King in the game of Chess. <br>
  * This is a subclass of {@link Piece}.
@@ -11,7 +9,7 @@ import java.util.Objects;
 public class King extends Piece {
 	/**
 	 * boolean determining if {@code King} has moved. <br>
-	 * Used in {@link #getLegal(Tile[][], Tile[])}
+	 * Castling is decided by {@link ChessBoard#getCastlingRights()} instead.
 	 */
 	private boolean hasMoved;
 	
@@ -32,104 +30,11 @@ public class King extends Piece {
 	}
 	
 	/**
-	 * Castle the {@code King}.
-	 * 
-	 * @param piece is the {@code Piece} moving.
-	 * @param tiles are the original and new posisitions of {@code King}.
-	 * @param board is the board.
-	 */
-	public static void castle(Piece piece, Tile[] tiles, ChessBoard board) {
-		Tile[] rooks = board.findRooks(piece, false);
-		Tile[][] b = board.getBoard();
-		if (tiles[0].getColumn() < tiles[1].getColumn()) {
-			Tile newTile = b[tiles[1].getRow()][tiles[1].getColumn() - 1];
-			newTile.setPiece(rooks[1].getPiece());
-			newTile.update();
-			
-			rooks[1].setPiece(null);
-			rooks[1].update();
-		} else {
-			Tile newTile = b[tiles[1].getRow()][tiles[1].getColumn() + 1];
-			newTile.setPiece(rooks[0].getPiece());;
-			newTile.update();
-			
-			rooks[0].setPiece(null);
-			rooks[0].update();
-		} return;
-	}
-	
-	/**
-	 * <p>Assist {@link #determineCheck(Piece, Tile[][], Tile)} in determining its information.</p>
-	 * <p>Travel x by dx and y by dy (either -1, 0, or 1).<br>
-	 * Check each {@link Tile} for {@link Piece} and determine if the piece can move back to the original position.</p>
-	 * 
-	 * @param piece is the piece
-	 * @param board is the board
-	 * @param kingTile is positions of {@code King}
-	 * @param dx is the horizantal direction of travel
-	 * @param dy is the vertical direction of travel
-	 * 
-	 * @return	{@code true} if {@code Piece} found is an <i>enemy</i>.<br>
-	 *			{@code false} if {@code Piece} found is an <i>ally</i> or <i>no piece</i>.
-	 */
-	private boolean checkLineforCheck(Piece piece, Tile[][] board, Tile kingTile, int dx, int dy) {		
-		int row = kingTile.getRow(), col = kingTile.getColumn();	//coordinates for King
-		Piece pieceCheck = null;									//piece at checking coordinates
-		while (pieceCheck == null) {								//Check in a direction for a piece
-			row += dx; col += dy;
-			try {
-				pieceCheck = board[row][col].getPiece();
-			} catch (ArrayIndexOutOfBoundsException aiooe) {		//No pieces exist outside of the board
-				return false;
-			}
-		} if (piece.isAlly(pieceCheck)) return false;
-		return pieceCheck.getLegal(board, new Tile[]{board[row][col], kingTile});
-	}
-	
-	/**
-	 * Determine if the new {@link Tile} {@code King} moves to is safe.
-	 * 
-	 * @param piece is the piece.
-	 * @param board is the board.
-	 * @param kingTile is the position of {@code King}.
-	 * 
-	 * @return	{@code true} if new {@code Tile} is safe. <br>
-	 * 			{@code false} if new {@code Tile} is unsafe.
-	 */
-	public boolean determineCheck(Piece piece, Tile[][] board, Tile kingTile) {
-		int[] dx = {1, 1, 0, -1, -1, -1, 0, 1}, dy = {0, -1, -1, -1, 0, 1, 1, 1};
-		
-		//check each direction in a counterclock-wise direction (E NE N NW W SW S SE)
-		for (int doF = 0; doF < 8; doF++) {
-			if (this.checkLineforCheck(piece, board, kingTile, dx[doF], dy[doF])) return true;
-		} return this.determineKnight(board, kingTile);
-	}
-	
-	/**
-	 * Determine if {@link Knight} can <b>check</b> the {@code King}.
-	 * 
-	 * @param board is the board
-	 * @param kingTile is the positions of {@code King}.
-	 * 
-	 * @return	{@code true} if {@code Knight} can <b>check</b> the {@code King}. <br>
-	 * 			{@code false} if {@code Knight} is found.
+	 * Set {@link #hasMoved} once {@code King} moves.
 	 */
-	private boolean determineKnight(Tile[][] board, Tile kingTile) {
-		Objects.requireNonNull(board, "King must be on a board.");
-		Objects.requireNonNull(kingTile, "King must be on a Tile.");
-		int[] x = {-2,-1, 1, 2, 2, 1, -1, -2}, y = {1, 2, 2, 1, -1, -2, -2, -1};
-		int row = kingTile.getRow(), col = kingTile.getColumn();
-		
-		//loop through all possible positions of a Knight
-		for (int i = 0; i < 8; i++) {
-			Piece piece;	//Piece at the position
-			try {
-				piece = board[row + x[i]][col + y[i]].getPiece();
-				if (piece instanceof Knight && !piece.isAlly(this)) return true;
-			} catch (ArrayIndexOutOfBoundsException aioobe) {
-				continue;
-			}
-		} return false;
+	@Override
+	public void commit(Tile[][] board, int move) {
+		this.hasMoved = true;
 	}
 	
 	@Override
@@ -141,26 +46,46 @@ public class King extends Piece {
 		if (isCheck != other.isCheck)	return false;
 										return true;
 	}
+
+	/**
+	 * {@code King} steps one {@link Tile} in any direction, and castles when {@link #hasCastled(ChessBoard, int)} allows.
+	 */
+	@Override
+	public void generate(ChessBoard board, int square, MoveList moves, boolean captures, boolean quiets) {
+		super.generate(board, square, moves, captures, quiets);
+		if (!quiets) return;
+		int rights = this.isWhite() ? ChessBoard.whiteKingSide | ChessBoard.whiteQueenSide : ChessBoard.blackKingSide | ChessBoard.blackQueenSide;
+		if ((board.getCastlingRights() & rights) == 0) return;
+		for (int to = square - 2; to <= square + 2; to += 4) {
+			int move = Move.create(square, to, Move.castle);
+			if (this.hasCastled(board, move)) moves.add(move);
+		}
+	}
+
+	@Override
+	public long getAttacks(int square, long occupied) {
+		return Attacks.king(square);
+	}
 	
 	/**
-	 * <p>Determine if move {@code King} makes from {@code tiles[0]} to {@code tiles[1]} is legal.</p>
+	 * <p>Determine if move {@code King} makes with {@code move} is legal.</p>
 	 * <p>Like the {@link Queen} the {@code King} can move in any direction.<br>
 	 * However, {@code King} must only move <b>one</b> {@link Tile} at a time.</p>
 	 * 
-	 * <p>Checking if {@code King} has <b>castled</b> is done in {@link #hasCastled(ChessBoard, Tile[])}.</p>
+	 * <p>Checking if {@code King} has <b>castled</b> is done in {@link #hasCastled(ChessBoard, int)}.</p>
 	 */
 	@Override
-	public boolean getLegal(Tile[][] board, Tile[] tiles) {
-		Objects.requireNonNull(tiles, "King must move");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
-		int oldX = tiles[0].getRow(), oldY = tiles[0].getColumn(), newX = tiles[1].getRow(), newY = tiles[1].getColumn();
-		
-		if ((Math.abs(newX - oldX) <= 1) && (Math.abs(newY - oldY) <= 1)) {
-			this.setHasMoved(true);
-			return true;
-		} return false;
+	public boolean getLegal(Tile[][] board, int move) {
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		int oldX = from >>> 3, oldY = from & 7, newX = to >>> 3, newY = to & 7;
+		return (Math.abs(newX - oldX) <= 1) && (Math.abs(newY - oldY) <= 1);
 	}
 	
+	@Override
+	public PieceType getPieceType() {
+		return PieceType.King;
+	}
+
 	@Override
 	public int getValue() throws IllegalAccessException {
 		throw new IllegalAccessException("King does not have a value.");
@@ -168,34 +93,32 @@ public class King extends Piece {
 	
 	
 	/**
-	 * Determine if {@code King} has castled.<br>
-	 * Actual castling is done in {@link #castle(Piece, Tile[], ChessBoard)}.
+	 * Determine if {@code King} may castle with {@code move}.<br>
+	 * The castling right must still be held, every {@link Tile} between {@code King} and its {@link Rook} must be empty
+	 * and {@code King} may not castle out of, through or into <b>check</b>, which is looked up in {@link ChessBoard#getAttackMap(PieceColor)}.
+	 * Actual castling is done in {@link ChessBoard#makeMove(int)}.
 	 * 
 	 * @param board is the {@link ChessBoard}.
-	 * @param tiles is the original and new posisions of this.
+	 * @param move is the {@link Move} of this.
 	 * 
-	 * @return	{@code true} if {@code King} has castled.<br>
-	 * 			{@code false} if {@code King} has not castled.
+	 * @return	{@code true} if {@code King} may castle.<br>
+	 * 			{@code false} if {@code King} may not castle.
 	 */
-	public boolean hasCastled(ChessBoard board, Tile[] tiles) {
-		if (this.hasMoved()) return false;
-		for (Tile tile : board.findRooks(this, false)) {
-			if (((Rook)tile.getPiece()).hasMoved())
-				return false;
-		} int col0 = tiles[0].getColumn(), col1 = tiles[1].getColumn();
+	public boolean hasCastled(ChessBoard board, int move) {
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		if (from >>> 3 != to >>> 3 || Math.abs((from & 7) - (to & 7)) != 2) return false;
 		
-		Tile[][] b = board.getBoard();
-		if (tiles[0].getRow() == tiles[1].getRow())
-			if (col0 < col1)
-				for (int i = col0 + 1; i < col1; i++) {
-					if (b[tiles[0].getRow()][i].getPiece() != null) return false;
-				}
-			else if (col0 > col1)
-				for (int i = col1; i < col0; i++) {
-					if (b[tiles[0].getRow()][i].getPiece() != null) return false;
-				}
-		else return false;
-		return Math.abs(col0 - col1) == 2;
+		boolean kingSide = to > from;
+		int right = this.isWhite()	? (kingSide ? ChessBoard.whiteKingSide : ChessBoard.whiteQueenSide)
+									: (kingSide ? ChessBoard.blackKingSide : ChessBoard.blackQueenSide);
+		if ((board.getCastlingRights() & right) == 0) return false;
+		
+		//Every Tile between the King and the Rook must be empty
+		if (board.getBitboard().isOccupied(kingSide ? 3L << from + 1 : 7L << from - 3)) return false;
+		
+		//The King starts on, passes over and ends on these Tile
+		long path = kingSide ? 7L << from : 7L << to;
+		return (board.getAttackMap(this.pieceColor.opposite()) & path) == 0;
 	}
 	
 	@Override
@@ -245,11 +168,6 @@ public class King extends Piece {
 		this.isCheck = bool;
 	}
 
-	@Override
-	public Tile[] setTileCollide(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		return new Tile[0];
-	}
-
 	@Override
 	public String toString() {
 		switch (this.pieceColor) {
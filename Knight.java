@@ -1,5 +1,3 @@
-import java.util.Objects;
-
 /**
  * This {@code Knight} class represents a Knight in the game of chess.
  * 
@@ -29,16 +27,20 @@ public class Knight extends Piece {
 		return true;
 	}
 
+	@Override
+	public long getAttacks(int square, long occupied) {
+		return Attacks.knight(square);
+	}
+
 	/**
-	 * <p>Determine if move {@code Knight} makes from {@code tiles[0]} to {@code tiles[1]} is legal.</p>
+	 * <p>Determine if move {@code Knight} makes with {@code move} is legal.</p>
 	 * <p>{@code Knight} must move in an <i>"L"</i> shape.</p>
 	 */
 	@Override
-	public boolean getLegal(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		Objects.requireNonNull(tiles, "Knight must move.");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
+	public boolean getLegal(Tile[][] board, int move) {
 
-		int oldX = tiles[0].getRow(), oldY = tiles[0].getColumn(), newX = tiles[1].getRow(), newY = tiles[1].getColumn();
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		int oldX = from >>> 3, oldY = from & 7, newX = to >>> 3, newY = to & 7;
 
 		//Vertical L
 		if ((Math.abs(newX - oldX) == 1) && (Math.abs(newY - oldY) == 2)) 		return true;
@@ -47,6 +49,11 @@ public class Knight extends Piece {
 		return false;
 	}
 
+	@Override
+	public PieceType getPieceType() {
+		return PieceType.Knight;
+	}
+
 	@Override
 	public int getValue() {
 		return 3;
@@ -54,11 +61,6 @@ public class Knight extends Piece {
 	
 	public void reset() {}
 
-	@Override
-	public Tile[] setTileCollide(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		return new Tile[0];
-	}
-
 	@Override
 	public String toString() {
 		switch (this.pieceColor) {
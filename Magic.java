@@ -0,0 +1,211 @@
+/**
+ * The {@code Magic} class looks up the squares a {@link Rook} or {@link Bishop} attacks with <i>magic bitboards</i>.
+ * <p>Only the occupied squares on the lines of a square matter to its attacks, and the edge of each line never does.
+ * Multiplying those squares by a <i>magic</i> number moves them into the top bits of the product,
+ * which index a table holding the attacks for that occupancy.<br>
+ * So finding the attacks of a sliding {@link Piece}, or whether its path is clear, is one multiply and one table read.</p>
+ * <p>The magic numbers are found when the class is loaded by trying random sparse numbers until one maps
+ * every occupancy of a square to its correct attacks. The random numbers come from a fixed seed,
+ * so every run finds the same tables.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Magic {
+	/**
+	 * The occupied squares that matter to a {@link Rook} on each square.
+	 */
+	private static final long[] rookMasks		= new long[64];
+
+	/**
+	 * The occupied squares that matter to a {@link Bishop} on each square.
+	 */
+	private static final long[] bishopMasks		= new long[64];
+
+	/**
+	 * The magic number of a {@link Rook} on each square.
+	 */
+	private static final long[] rookMagics		= new long[64];
+
+	/**
+	 * The magic number of a {@link Bishop} on each square.
+	 */
+	private static final long[] bishopMagics	= new long[64];
+
+	/**
+	 * How far the product of a {@link Rook} on each square is shifted to become an index.
+	 */
+	private static final int[] rookShifts		= new int[64];
+
+	/**
+	 * How far the product of a {@link Bishop} on each square is shifted to become an index.
+	 */
+	private static final int[] bishopShifts		= new int[64];
+
+	/**
+	 * Where the attacks of a {@link Rook} on each square start in {@link #rookAttacks}.
+	 */
+	private static final int[] rookOffsets		= new int[64];
+
+	/**
+	 * Where the attacks of a {@link Bishop} on each square start in {@link #bishopAttacks}.
+	 */
+	private static final int[] bishopOffsets	= new int[64];
+
+	/**
+	 * The attacks of a {@link Rook} for every square and occupancy.
+	 */
+	private static final long[] rookAttacks;
+
+	/**
+	 * The attacks of a {@link Bishop} for every square and occupancy.
+	 */
+	private static final long[] bishopAttacks;
+
+	/**
+	 * The directions a {@link Rook} moves in, as in {@link Attacks}.
+	 */
+	private static final int[] rookDirections	= {Attacks.north, Attacks.east, Attacks.south, Attacks.west};
+
+	/**
+	 * The directions a {@link Bishop} moves in, as in {@link Attacks}.
+	 */
+	private static final int[] bishopDirections	= {Attacks.northEast, Attacks.southEast, Attacks.southWest, Attacks.northWest};
+
+	/**
+	 * The state of the random number generator used to find the magic numbers.
+	 */
+	private static long seed = 0x2020_0828_0000_0065L;
+
+	static {
+		rookAttacks		= new long[masks(rookDirections, rookMasks)];
+		bishopAttacks	= new long[masks(bishopDirections, bishopMasks)];
+		find(rookDirections, rookMasks, rookMagics, rookShifts, rookOffsets, rookAttacks);
+		find(bishopDirections, bishopMasks, bishopMagics, bishopShifts, bishopOffsets, bishopAttacks);
+	}
+
+	/**
+	 * {@code Magic} only has static methods.
+	 */
+	private Magic() {}
+
+	/**
+	 * Get the squares a {@link Bishop} on {@code square} attacks.
+	 *
+	 * @param square is the square of the {@code Bishop}.
+	 * @param occupied is the mask of every occupied square.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long bishop(int square, long occupied) {
+		return bishopAttacks[bishopOffsets[square] + (int)((occupied & bishopMasks[square]) * bishopMagics[square] >>> bishopShifts[square])];
+	}
+
+	/**
+	 * Find a magic number for every square, and fill {@code attacks} with it.
+	 *
+	 * @param directions are the directions the {@link Piece} moves in.
+	 * @param masks are the occupied squares that matter on each square.
+	 * @param magics is filled with the magic number of each square.
+	 * @param shifts is filled with the shift of each square.
+	 * @param offsets is filled with where each square starts in {@code attacks}.
+	 * @param attacks is filled with the attacks for every square and occupancy.
+	 */
+	private static void find(int[] directions, long[] masks, long[] magics, int[] shifts, int[] offsets, long[] attacks) {
+		int offset = 0;
+		for (int square = 0; square < 64; square++) {
+			long mask = masks[square];
+			int bits = Long.bitCount(mask), size = 1 << bits;
+			long[] occupancies = new long[size], references = new long[size], used = new long[size];
+			int[] tries = new int[size];
+
+			//Every subset of mask, with the attacks it allows
+			long subset = 0L;
+			for (int i = 0; i < size; i++, subset = (subset - mask) & mask) {
+				occupancies[i]	= subset;
+				references[i]	= slide(directions, square, subset);
+			}
+
+			shifts[square] = 64 - bits;
+			search: for (int attempt = 1; ; attempt++) {
+				long magic = random() & random() & random();
+				if (Long.bitCount((mask * magic) >>> 56) < 6) continue;	//Too few bits reach the index
+				for (int i = 0; i < size; i++) {
+					int index = (int)(occupancies[i] * magic >>> shifts[square]);
+					if (tries[index] < attempt) {
+						tries[index]	= attempt;
+						used[index]		= references[i];
+					} else if (used[index] != references[i]) continue search;	//Two occupancies need different attacks
+				} magics[square] = magic;
+				break;
+			}
+
+			offsets[square] = offset;
+			System.arraycopy(used, 0, attacks, offset, size);
+			offset += size;
+		}
+	}
+
+	/**
+	 * Find the occupied squares that matter to a {@link Piece} moving in {@code directions} on each square.<br>
+	 * The last square of each line is left out, as nothing lies beyond it.
+	 *
+	 * @param directions are the directions the {@code Piece} moves in.
+	 * @param masks is filled with the mask of each square.
+	 *
+	 * @return the size of the table needed for every square.
+	 */
+	private static int masks(int[] directions, long[] masks) {
+		int size = 0;
+		for (int square = 0; square < 64; square++) {
+			for (int direction : directions) {
+				long ray = Attacks.ray(direction, square, 0L);
+				if (ray == 0) continue;
+				long last = direction >= Attacks.east && direction <= Attacks.southWest ? Long.highestOneBit(ray) : Long.lowestOneBit(ray);
+				masks[square] |= ray & ~last;
+			} size += 1 << Long.bitCount(masks[square]);
+		} return size;
+	}
+
+	/**
+	 * Get the next random number, with the <i>xorshift64*</i> generator.
+	 *
+	 * @return the next random number.
+	 */
+	private static long random() {
+		seed ^= seed >>> 12;
+		seed ^= seed << 25;
+		seed ^= seed >>> 27;
+		return seed * 0x2545F4914F6CDD1DL;
+	}
+
+	/**
+	 * Get the squares a {@link Rook} on {@code square} attacks.
+	 *
+	 * @param square is the square of the {@code Rook}.
+	 * @param occupied is the mask of every occupied square.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	public static long rook(int square, long occupied) {
+		return rookAttacks[rookOffsets[square] + (int)((occupied & rookMasks[square]) * rookMagics[square] >>> rookShifts[square])];
+	}
+
+	/**
+	 * Walk every direction in {@code directions} from {@code square} until the first occupied square.<br>
+	 * This is the slow way, only used to fill the tables.
+	 *
+	 * @param directions are the directions.
+	 * @param square is the square.
+	 * @param occupied is the mask of every occupied square.
+	 *
+	 * @return the mask of attacked squares.
+	 */
+	private static long slide(int[] directions, int square, long occupied) {
+		long attacks = 0L;
+		for (int direction : directions) {
+			attacks |= Attacks.ray(direction, square, occupied);
+		} return attacks;
+	}
+}
@@ -0,0 +1,203 @@
+/**
+ * The {@code Move} class packs a move into a single {@code int}.
+ * <ul>
+ * <li>bits 0 to 5: the square the move starts on, as given by {@link Bitboard#square(int, int)}.</li>
+ * <li>bits 6 to 11: the square the move ends on.</li>
+ * <li>bits 12 to 14: the ordinal of the {@link PieceType} a {@link Pawn} is promoted to, or {@code 0}.</li>
+ * <li>bits 15 to 18: {@link #capture}, {@link #castle}, {@link #enPassant} and {@link #doublePush}.</li>
+ * </ul>
+ * <p>Moves can therefore be kept in {@code int[]} and passed around without allocating.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Move {
+	/**
+	 * Set when a move captures a {@link Piece}.
+	 */
+	public static final int capture		= 1 << 15;
+
+	/**
+	 * Set when a {@link King} castles.
+	 */
+	public static final int castle		= 1 << 16;
+
+	/**
+	 * Set when a {@link Pawn} captures <i>en passant</i>.
+	 */
+	public static final int enPassant	= 1 << 17;
+
+	/**
+	 * Set when a {@link Pawn} advances two {@link Tile}.
+	 */
+	public static final int doublePush	= 1 << 18;
+
+	/**
+	 * A value that is never a move.
+	 */
+	public static final int none		= 0;
+
+	/**
+	 * All {@link PieceType}, so {@link #getPromotion(int)} does not copy {@link PieceType#values()}.
+	 */
+	private static final PieceType[] types = PieceType.values();
+
+	/**
+	 * {@code Move} only has static methods.
+	 */
+	private Move() {}
+
+	/**
+	 * Create a move from {@code from} to {@code to}.
+	 *
+	 * @param from is the square the move starts on.
+	 * @param to is the square the move ends on.
+	 *
+	 * @return the move.
+	 */
+	public static int create(int from, int to) {
+		return from | to << 6;
+	}
+
+	/**
+	 * Create a move from {@code from} to {@code to}.
+	 *
+	 * @param from is the square the move starts on.
+	 * @param to is the square the move ends on.
+	 * @param flags are {@link #capture}, {@link #castle}, {@link #enPassant} and {@link #doublePush} or'd together.
+	 *
+	 * @return the move.
+	 */
+	public static int create(int from, int to, int flags) {
+		return from | to << 6 | flags;
+	}
+
+	/**
+	 * Create a move from {@code from} to {@code to} that promotes a {@link Pawn}.
+	 *
+	 * @param from is the square the move starts on.
+	 * @param to is the square the move ends on.
+	 * @param promotion is the {@link PieceType} the {@code Pawn} is promoted to.
+	 * @param flags are {@link #capture}, {@link #castle}, {@link #enPassant} and {@link #doublePush} or'd together.
+	 *
+	 * @return the move.
+	 */
+	public static int create(int from, int to, PieceType promotion, int flags) {
+		return from | to << 6 | promotion.ordinal() << 12 | flags;
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return the square {@code move} starts on.
+	 */
+	public static int getFrom(int move) {
+		return move & 63;
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return	the {@link PieceType} a {@link Pawn} is promoted to.<br>
+	 * 			{@code null} if {@code move} is not a promotion.
+	 */
+	public static PieceType getPromotion(int move) {
+		int promotion = move >>> 12 & 7;
+		return promotion == 0 ? null : types[promotion];
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return the square {@code move} ends on.
+	 */
+	public static int getTo(int move) {
+		return move >>> 6 & 63;
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return {@code true} if {@code move} captures a {@link Piece}.
+	 */
+	public static boolean isCapture(int move) {
+		return (move & capture) != 0;
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return {@code true} if {@code move} castles a {@link King}.
+	 */
+	public static boolean isCastle(int move) {
+		return (move & castle) != 0;
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return {@code true} if {@code move} advances a {@link Pawn} two {@link Tile}.
+	 */
+	public static boolean isDoublePush(int move) {
+		return (move & doublePush) != 0;
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return {@code true} if {@code move} captures <i>en passant</i>.
+	 */
+	public static boolean isEnPassant(int move) {
+		return (move & enPassant) != 0;
+	}
+
+	/**
+	 * @param move is the move.
+	 *
+	 * @return {@code true} if {@code move} promotes a {@link Pawn}.
+	 */
+	public static boolean isPromotion(int move) {
+		return (move & 7 << 12) != 0;
+	}
+
+	/**
+	 * Read the name of a square, the way a {@link Tile} is named.
+	 *
+	 * @param str is the name, such as {@code e4}.
+	 *
+	 * @return the square.
+	 *
+	 * @throws IllegalArgumentException if {@code str} is not the name of a square.
+	 */
+	public static int parseSquare(String str) throws IllegalArgumentException {
+		int column = str.length() == 2 ? str.charAt(0) - 'a' : -1, row = str.length() == 2 ? '8' - str.charAt(1) : -1;
+		if (column < 0 || column > 7 || row < 0 || row > 7) throw new IllegalArgumentException("Illegal square: " + str);
+		return row << 3 | column;
+	}
+
+	/**
+	 * Name {@code square} the way a {@link Tile} is named.
+	 *
+	 * @param square is the square.
+	 *
+	 * @return the name of {@code square}, such as {@code e4}.
+	 */
+	public static String squareToString(int square) {
+		return String.valueOf((char)('a' + (square & 7))) + (8 - (square >>> 3));
+	}
+
+	/**
+	 * Write {@code move} in long algebraic notation, such as {@code e2e4} or {@code e7e8q}.
+	 *
+	 * @param move is the move.
+	 *
+	 * @return {@code move} in long algebraic notation.
+	 */
+	public static String toString(int move) {
+		String str = squareToString(getFrom(move)) + squareToString(getTo(move));
+		PieceType promotion = getPromotion(move);
+		if (promotion == null) return str;
+		return str + (promotion == PieceType.Knight ? 'n' : Character.toLowerCase(promotion.name().charAt(0)));
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * This {@code MoveList} class is a reusable buffer of moves.<br>
+ * Each move is stored as an {@code int} packed by {@link Move}.
+ * <p>Clearing a {@code MoveList} does not free its storage, so filling it again allocates nothing.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class MoveList {
+	/**
+	 * The most moves any position can have.
+	 */
+	public static final int capacity = 256;
+
+	/**
+	 * The moves in this.
+	 */
+	private final int[] moves;
+
+	/**
+	 * The number of moves in this.
+	 */
+	private int size;
+
+	/**
+	 * Create an empty {@code MoveList}.
+	 */
+	public MoveList() {
+		this.moves	= new int[capacity];
+		this.size	= 0;
+	}
+
+	/**
+	 * Add {@code move}.
+	 *
+	 * @param move is the {@link Move}.
+	 */
+	public void add(int move) {
+		this.moves[this.size++] = move;
+	}
+
+	/**
+	 * Remove every move.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Get the move at {@code index}.
+	 *
+	 * @param index is the index of the move.
+	 *
+	 * @return the move at {@code index}.
+	 */
+	public int get(int index) {
+		return this.moves[index];
+	}
+
+	/**
+	 * Replace the move at {@code index}.
+	 *
+	 * @param index is the index of the move.
+	 * @param move is the new {@link Move}.
+	 */
+	public void set(int index, int move) {
+		this.moves[index] = move;
+	}
+
+	/**
+	 * @return {@link #size}
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Keep only the first {@code size} moves.
+	 *
+	 * @param size is the number of moves kept.
+	 */
+	public void truncate(int size) {
+		this.size = size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("[");
+		for (int i = 0; i < this.size; i++) {
+			if (i > 0) str.append(", ");
+			str.append(Move.toString(this.moves[i]));
+		} return str.append(']').toString();
+	}
+}
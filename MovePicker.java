@@ -0,0 +1,355 @@
+import java.util.Arrays;
+
+/**
+ * The {@code MovePicker} class hands a {@link Search} the legal moves of a position one at a time, best first,
+ * in stages:
+ * <ol>
+ * <li>{@link #hash}: the best move found before, from a {@link TranspositionTable}. It is checked with
+ * {@link ChessBoard#isLegal(int)}, so no move is generated if it is good enough.</li>
+ * <li>{@link #captures}: captures that do not lose material ({@link Search#see(int)}) and promotions,
+ * the most valuable {@link Piece} captured by the least valuable {@code Piece} first. A capture is only exchanged with
+ * {@code Search#see(int)} once it is picked; one that loses material is put off to {@link #losing}.</li>
+ * <li>{@link #killers}: the quiet moves that were good enough in another position at the same ply.
+ * Like the hash move, each is checked with {@link ChessBoard#isLegal(int)} instead of being looked for among generated moves.</li>
+ * <li>{@link #quiets}: every other quiet move, the one with the most history first.</li>
+ * <li>{@link #losing}: captures that lose material, the least losing first.</li>
+ * </ol>
+ * <p>Captures and promotions are generated once the hash move has been tried, and quiet moves only once {@link #quiets} is reached,
+ * so a position that is cut off by a capture or a killer move never generates its quiet moves, and {@link #captures} alone never does.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class MovePicker {
+	/**
+	 * The stage of the move from a {@link TranspositionTable}.
+	 */
+	public static final int hash		= 0;
+
+	/**
+	 * The stage of captures that do not lose material, and promotions.
+	 */
+	public static final int captures	= 1;
+
+	/**
+	 * The stage of killer moves.
+	 */
+	public static final int killers		= 2;
+
+	/**
+	 * The stage of other quiet moves.
+	 */
+	public static final int quiets		= 3;
+
+	/**
+	 * The stage of captures that lose material.
+	 */
+	public static final int losing		= 4;
+
+	/**
+	 * The number of stages.
+	 */
+	public static final int stages		= 5;
+
+	/**
+	 * The {@link Search} whose {@link Search#see(int)} orders captures.
+	 */
+	private final Search search;
+
+	/**
+	 * The {@link ChessBoard} the moves are made on.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * The legal moves last generated.
+	 */
+	private final MoveList moves;
+
+	/**
+	 * The moves of each of {@link #captures}, {@link #quiets} and {@link #losing}, indexed by stage.
+	 * The other stages hold one move at most, so they have none.
+	 */
+	private final int[][] staged;
+
+	/**
+	 * The order score of each move of {@link #staged}.
+	 */
+	private final int[][] orders;
+
+	/**
+	 * The number of moves left in each stage of {@link #staged}.
+	 */
+	private final int[] sizes;
+
+	/**
+	 * The history of each {@link Piece} moving to each square, indexed by {@link Search#historyIndex(Piece)}.
+	 */
+	private final int[][] history;
+
+	/**
+	 * The two killer moves.
+	 */
+	private int killer0, killer1;
+
+	/**
+	 * The number of killer moves tried.
+	 */
+	private int killersTried;
+
+	/**
+	 * The move from a {@link TranspositionTable}, or {@link Move#none}.
+	 */
+	private int hashMove;
+
+	/**
+	 * The stage the next move is taken from.
+	 */
+	private int stage;
+
+	/**
+	 * The stage the last move was taken from.
+	 */
+	private int lastStage;
+
+	/**
+	 * {@code true} to pick only captures that do not lose material and promotions.
+	 */
+	private boolean capturesOnly;
+
+	/**
+	 * {@code true} once the captures and promotions have been generated.
+	 */
+	private boolean capturesGenerated;
+
+	/**
+	 * {@code true} once the quiet moves have been generated.
+	 */
+	private boolean quietsGenerated;
+
+	/**
+	 * The number of legal moves generated, counting the move from a {@link TranspositionTable}.
+	 */
+	private int legal;
+
+	/**
+	 * Create a {@code MovePicker} of {@code board}.
+	 *
+	 * @param search is the {@link Search} whose {@link Search#see(int)} orders captures.
+	 * @param board is the {@link ChessBoard}.
+	 * @param history is the history of each {@link Piece} moving to each square.
+	 */
+	public MovePicker(Search search, ChessBoard board, int[][] history) {
+		this.search		= search;
+		this.board		= board;
+		this.history	= history;
+		this.moves		= new MoveList();
+		this.staged		= new int[stages][];
+		this.orders		= new int[stages][];
+		this.sizes		= new int[stages];
+		this.staged[captures]	= new int[MoveList.capacity];
+		this.staged[quiets]		= new int[MoveList.capacity];
+		this.staged[losing]		= new int[MoveList.capacity];
+		this.orders[captures]	= new int[MoveList.capacity];
+		this.orders[quiets]		= new int[MoveList.capacity];
+		this.orders[losing]		= new int[MoveList.capacity];
+	}
+
+	/**
+	 * @return the stage the last move of {@link #next()} was taken from.
+	 */
+	public int getStage() {
+		return this.lastStage;
+	}
+
+	/**
+	 * Generate the legal captures and promotions of the position into {@link #captures},
+	 * the most valuable {@link Piece} captured by the least valuable {@code Piece} first.
+	 */
+	private void generateCaptures() {
+		this.capturesGenerated = true;
+		this.moves.clear();
+		this.board.generateCaptures(this.moves);
+		this.legal += this.moves.size();
+		for (int i = 0; i < this.moves.size(); i++) {
+			int move = this.moves.get(i);
+			if (move == this.hashMove) continue;
+			PieceType promotion = Move.getPromotion(move);
+			int order = promotion == null ? 0 : Search.value(promotion);
+			if (Move.isCapture(move)) {
+				Piece victim = this.board.getTile(Move.getTo(move)).getPiece();
+				Piece attacker = this.board.getTile(Move.getFrom(move)).getPiece();
+				order += 1_000_000 + 10 * (victim == null ? Search.value(PieceType.Pawn) : Search.value(victim.getPieceType()))
+						- Search.value(attacker.getPieceType()) / 100;
+			} this.add(captures, move, order);
+		}
+	}
+
+	/**
+	 * Generate the legal quiet moves of the position into {@link #quiets}, the one with the most history first.<br>
+	 * The hash move and the killer moves were already tried, so they are left out.
+	 */
+	private void generateQuiets() {
+		this.quietsGenerated = true;
+		this.moves.clear();
+		this.board.generateQuiets(this.moves);
+		this.legal += this.moves.size();
+		for (int i = 0; i < this.moves.size(); i++) {
+			int move = this.moves.get(i);
+			if (move == this.hashMove || move == this.killer0 || move == this.killer1) continue;
+			this.add(quiets, move, this.history[Search.historyIndex(this.board.getTile(Move.getFrom(move)).getPiece())][Move.getTo(move)]);
+		}
+	}
+
+	/**
+	 * Determine if the position has a legal move, generating the moves that are still needed to tell.<br>
+	 * Moves are still picked from the stage {@link #next()} reached.
+	 *
+	 * @return	{@code true} if there is a legal move.<br>
+	 * 			{@code false} if the {@link Player} to move is <b>check mated</b> or <b>stalemated</b>.
+	 */
+	public boolean hasMoves() {
+		if (!this.capturesGenerated) this.generateCaptures();
+		if (this.legal > 0) return true;
+		if (!this.quietsGenerated) this.generateQuiets();
+		return this.legal > 0;
+	}
+
+	/**
+	 * Add {@code move} to {@code stage}.
+	 *
+	 * @param stage is the stage.
+	 * @param move is the move.
+	 * @param order is the order score of {@code move}.
+	 */
+	private void add(int stage, int move, int order) {
+		int size = this.sizes[stage]++;
+		this.staged[stage][size] = move;
+		this.orders[stage][size] = order;
+	}
+
+	/**
+	 * Get the next move, best first.
+	 *
+	 * @return	the move.<br>
+	 * 			{@link Move#none} once every move has been taken.
+	 */
+	public int next() {
+		while (true) switch (this.stage) {
+		case hash:
+			this.stage = captures;
+			if (this.isLegal(this.hashMove)) return this.take(hash, this.hashMove);
+			break;
+		case captures:
+			if (!this.capturesGenerated) this.generateCaptures();
+			while (this.sizes[captures] > 0) {
+				int move = this.remove(captures, this.best(captures));
+				if (!Move.isCapture(move)) return this.take(captures, move);
+				int see = this.search.see(move);
+				if (see >= 0) return this.take(captures, move);
+				if (!this.capturesOnly) this.add(losing, move, see);
+			} this.stage = this.capturesOnly ? stages : killers;
+			break;
+		case killers:
+			while (this.killersTried < 2) {
+				int killer = this.killersTried++ == 0 ? this.killer0 : this.killer1;
+				if (this.isLegal(killer)) return this.take(killers, killer);
+			} this.stage = quiets;
+			break;
+		case quiets:
+			if (!this.quietsGenerated) this.generateQuiets();
+			if (this.sizes[quiets] > 0) return this.take(quiets, this.remove(quiets, this.best(quiets)));
+			this.stage = losing;
+			break;
+		case losing:
+			if (this.sizes[losing] > 0) return this.take(losing, this.remove(losing, this.best(losing)));
+			this.stage = stages;
+			break;
+		default:
+			return Move.none;
+		}
+	}
+
+	/**
+	 * Find the move of {@code stage} with the highest order score.
+	 *
+	 * @param stage is the stage.
+	 *
+	 * @return the index of the move.
+	 */
+	private int best(int stage) {
+		int[] orders = this.orders[stage];
+		int best = 0;
+		for (int i = 1; i < this.sizes[stage]; i++) {
+			if (orders[i] > orders[best]) best = i;
+		} return best;
+	}
+
+	/**
+	 * Determine if {@code move} is a legal move of the position, with the flags {@link ChessBoard#createMove(int, int, PieceType)} gives it.<br>
+	 * A move from a {@link TranspositionTable} may be from another position with the same key, and a killer move is from another position.
+	 *
+	 * @param move is the move.
+	 *
+	 * @return	{@code true} if {@code move} is legal.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private boolean isLegal(int move) {
+		if (move == Move.none) return false;
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		if (this.board.getTile(from).getPiece() == null) return false;
+		return move == this.board.createMove(from, to, Move.getPromotion(move)) && this.board.isLegal(move);
+	}
+
+	/**
+	 * Remove the move at {@code index} of {@code stage}.
+	 *
+	 * @param stage is the stage.
+	 * @param index is the index of the move.
+	 *
+	 * @return the move.
+	 */
+	private int remove(int stage, int index) {
+		int[] moves = this.staged[stage], orders = this.orders[stage];
+		int move = moves[index], last = --this.sizes[stage];
+		moves[index]	= moves[last];
+		orders[index]	= orders[last];
+		return move;
+	}
+
+	/**
+	 * Start picking the moves of the position on the {@link ChessBoard}.
+	 *
+	 * @param hashMove is the move from a {@link TranspositionTable}, or {@link Move#none}.
+	 * @param killer0 is the first killer move, or {@link Move#none}.
+	 * @param killer1 is the second killer move, or {@link Move#none}.
+	 * @param capturesOnly is {@code true} to pick only captures that do not lose material and promotions.
+	 */
+	public void reset(int hashMove, int killer0, int killer1, boolean capturesOnly) {
+		this.hashMove		= capturesOnly ? Move.none : hashMove;
+		this.killer0		= killer0 == this.hashMove ? Move.none : killer0;
+		this.killer1		= killer1 == this.hashMove || killer1 == killer0 ? Move.none : killer1;
+		this.killersTried	= 0;
+		this.capturesOnly	= capturesOnly;
+		this.capturesGenerated	= false;
+		this.quietsGenerated	= false;
+		this.legal			= 0;
+		this.stage			= capturesOnly ? captures : hash;
+		this.lastStage		= hash;
+		Arrays.fill(this.sizes, 0);
+	}
+
+	/**
+	 * Record that {@code move} was taken from {@code stage}.
+	 *
+	 * @param stage is the stage.
+	 * @param move is the move.
+	 *
+	 * @return {@code move}.
+	 */
+	private int take(int stage, int move) {
+		this.lastStage = stage;
+		return move;
+	}
+}
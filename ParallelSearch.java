@@ -0,0 +1,331 @@
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The {@code ParallelSearch} class chooses a move with one {@link Search} on each of several threads (<i>Lazy SMP</i>).
+ * <p>Every {@code Search} searches the whole position on its own copy of the {@link ChessBoard}, and they all share
+ * one {@link TranspositionTable}. What one thread stores there saves the others from searching it again,
+ * so together they reach each depth sooner than one thread could.
+ * Each helper thread skips some depths in its own pattern, so at each depth some threads search it while others are
+ * already one or more moves deeper, and the threads do not all search the same positions at once; see {@link Search#skips(int, int)}.</p>
+ * <p>The search ends once any thread finishes, and every thread then votes for its best move,
+ * weighted by how deep it searched and how well the move scored.</p>
+ * <p>The helper threads are started once, with the {@code ParallelSearch}, and kept waiting between searches,
+ * so a search starts no thread; see {@link #shutdown()}.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class ParallelSearch {
+	/**
+	 * The {@link ChessBoard} searched by the first thread. It is left as it was found.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * A copy of {@link #board} for each thread after the first.
+	 */
+	private final ChessBoard[] copies;
+
+	/**
+	 * The {@link Search} of each thread.
+	 */
+	private final Search[] searches;
+
+	/**
+	 * The threads the {@link Search} of every thread after the first run on, or {@code null} with only one thread.
+	 */
+	private final ExecutorService helpers;
+
+	/**
+	 * The {@link TranspositionTable} shared by every {@link Search}.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * The {@link SearchListener} told about the first thread's search.
+	 */
+	private SearchListener listener;
+
+	/**
+	 * The {@link Search} whose move was chosen by the last search.
+	 */
+	private Search chosen;
+
+	/**
+	 * Create a {@code ParallelSearch} of {@code board} with {@code threads} threads.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 * @param table is the {@link TranspositionTable} every thread shares.
+	 * @param threads is the number of threads, at least {@code 1}.
+	 *
+	 * @throws IllegalArgumentException if {@code threads} is less than {@code 1}.
+	 * @throws NullPointerException if {@code board} or {@code table} is {@code null}.
+	 */
+	public ParallelSearch(ChessBoard board, TranspositionTable table, int threads) throws IllegalArgumentException, NullPointerException {
+		if (threads < 1) throw new IllegalArgumentException("Illegal number of threads: " + threads);
+		this.board		= Objects.requireNonNull(board, "There must be a board to search.");
+		this.table		= Objects.requireNonNull(table, "Threads must share a table.");
+		this.copies		= new ChessBoard[threads];
+		this.searches	= new Search[threads];
+		this.listener	= new SearchListener() {};
+		this.searches[0]	= new Search(board, table);
+		for (int i = 1; i < threads; i++) {
+			this.copies[i]		= new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+			this.searches[i]	= new Search(this.copies[i], table);
+		} this.chosen = this.searches[0];
+		this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+			Thread thread = new Thread(runnable, "Search helper");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		//The first thread reports for all of them
+		this.searches[0].setListener(new SearchListener() {
+			@Override
+			public void iterationDone(int depth, int score, long nodes, long nanos, int[] pv) {
+				ParallelSearch.this.listener.iterationDone(depth, score, ParallelSearch.this.getNodes(), nanos, pv);
+			}
+		});
+	}
+
+	/**
+	 * Find the best move for the {@link Player} to move, with every thread.<br>
+	 * The search stops once any thread has searched {@code depth}, once {@code milliseconds} have passed
+	 * or when {@link #stop()} is called.
+	 *
+	 * @param depth is the deepest search, from {@code 1} to {@link Search#maxDepth}.
+	 * @param milliseconds is the time allowed, or {@code 0} for no limit.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code depth} is out of range or {@code milliseconds} is negative.
+	 */
+	public int bestMove(int depth, long milliseconds) throws IllegalArgumentException {
+		if (milliseconds < 0) throw new IllegalArgumentException("Illegal time: " + milliseconds);
+		long deadline = milliseconds == 0 ? Long.MAX_VALUE : System.nanoTime() + milliseconds * 1_000_000;
+		return this.bestMove(depth, deadline, deadline);
+	}
+
+	/**
+	 * Find the best move for the {@link Player} to move within the limits of {@code time}, with every thread.<br>
+	 * The first thread starts no iteration after the soft limit, and every thread stops at the hard limit;
+	 * the move is then recorded with {@link TimeManager#finish()}.
+	 *
+	 * @param depth is the deepest search, from {@code 1} to {@link Search#maxDepth}.
+	 * @param time is the {@link TimeManager}, started with {@link TimeManager#start(long, long, int)}.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code depth} is out of range.
+	 */
+	public int bestMove(int depth, TimeManager time) throws IllegalArgumentException {
+		int move = this.bestMove(depth, time.getSoftDeadline(), time.getHardDeadline());
+		time.finish();
+		return move;
+	}
+
+	/**
+	 * Find the best move for the {@link Player} to move, with every thread.
+	 *
+	 * @param depth is the deepest search, from {@code 1} to {@link Search#maxDepth}.
+	 * @param softDeadline is the {@link System#nanoTime()} after which the first thread starts no new iteration, or {@link Long#MAX_VALUE}.
+	 * @param deadline is the {@code System.nanoTime()} every thread must stop by, or {@code Long.MAX_VALUE}.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code depth} is out of range.
+	 */
+	private int bestMove(int depth, long softDeadline, long deadline) throws IllegalArgumentException {
+		if (depth < 1 || depth > Search.maxDepth) throw new IllegalArgumentException("Illegal depth: " + depth);
+		this.prepare(softDeadline, deadline);
+		return this.bestMove(depth);
+	}
+
+	/**
+	 * Find the best move for the {@link Player} to move, with every thread, keeping to the deadlines last given to
+	 * {@link #setDeadlines(long, long)}, even if they are changed while it runs.<br>
+	 * {@link #prepare(long, long)} must be called first.
+	 *
+	 * @param depth is the deepest search, from {@code 1} to {@link Search#maxDepth}.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code depth} is out of range.
+	 */
+	int bestMove(int depth) throws IllegalArgumentException {
+		if (depth < 1 || depth > Search.maxDepth) throw new IllegalArgumentException("Illegal depth: " + depth);
+		String position = this.board.getPosition();
+
+		//Whichever thread finishes first stops the others
+		int[] moves = new int[this.searches.length];
+		Future<?>[] helpers = new Future<?>[this.searches.length];
+		for (int i = 1; i < helpers.length; i++) {
+			int index = i;
+			this.copies[i].setPosition(position);
+			helpers[i] = this.helpers.submit(() -> {
+				try {
+					moves[index] = this.searches[index].iterate(index, depth);
+				} finally {
+					this.stop();
+				}
+			});
+		}
+
+		try {
+			moves[0] = this.searches[0].iterate(0, depth);
+		} finally {
+			this.stop();
+			for (int i = 1; i < helpers.length; i++) {
+				try {
+					helpers[i].get();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException ee) {
+					moves[i] = Move.none;	//The helper failed, so it does not vote
+				}
+			}
+		} return this.vote(moves);
+	}
+
+	/**
+	 * @return the number of positions whose search was ended by a move of each stage of {@link MovePicker}, by every thread in the last search.
+	 *
+	 * @see Search#getCutoffs()
+	 */
+	public long[] getCutoffs() {
+		long[] cutoffs = new long[MovePicker.stages];
+		for (Search search : this.searches) {
+			long[] some = search.getCutoffs();
+			for (int i = 0; i < cutoffs.length; i++) {
+				cutoffs[i] += some[i];
+			}
+		} return cutoffs;
+	}
+
+	/**
+	 * @return the number of positions searched by every thread in the last search.
+	 */
+	public long getNodes() {
+		long nodes = 0;
+		for (Search search : this.searches) {
+			nodes += search.getNodes();
+		} return nodes;
+	}
+
+	/**
+	 * @return the principal variation of the thread whose move was chosen.
+	 */
+	public int[] getPrincipalVariation() {
+		return this.chosen.getPrincipalVariation();
+	}
+
+	/**
+	 * Get ready for a new search, before it is started on any thread: age the {@link TranspositionTable},
+	 * let every thread run again after {@link #stop()}, and set the deadlines.<br>
+	 * A {@code stop()} made after this and before the search starts is kept.
+	 *
+	 * @param softDeadline is the {@link System#nanoTime()} after which the first thread starts no new iteration, or {@link Long#MAX_VALUE}.
+	 * @param deadline is the {@code System.nanoTime()} every thread must stop by, or {@code Long.MAX_VALUE}.
+	 */
+	void prepare(long softDeadline, long deadline) {
+		this.table.newSearch();
+		for (Search search : this.searches) {
+			search.clearStop();
+		} this.setDeadlines(softDeadline, deadline);
+	}
+
+	/**
+	 * Change when the search stops. This may be called from any thread, also while searching.<br>
+	 * Only the first thread keeps to {@code softDeadline}; the others stop with it.
+	 *
+	 * @param softDeadline is the {@link System#nanoTime()} after which the first thread starts no new iteration, or {@link Long#MAX_VALUE}.
+	 * @param deadline is the {@code System.nanoTime()} every thread must stop by, or {@code Long.MAX_VALUE}.
+	 *
+	 * @see Search#setDeadlines(long, long)
+	 */
+	public void setDeadlines(long softDeadline, long deadline) {
+		this.searches[0].setDeadlines(softDeadline, deadline);
+		for (int i = 1; i < this.searches.length; i++) {
+			this.searches[i].setDeadlines(Long.MAX_VALUE, deadline);
+		}
+	}
+
+	/**
+	 * Change {@link #listener} to {@code listener}.
+	 *
+	 * @param listener is the new {@link SearchListener}.
+	 */
+	public void setListener(SearchListener listener) {
+		this.listener = Objects.requireNonNull(listener, "Search must have a listener.");
+	}
+
+	/**
+	 * Change the {@link SearchOptions} of every thread to a copy of {@code options}.
+	 * A limit on the positions searched is a limit for each thread. This must not be called while searching.
+	 *
+	 * @param options is the new {@code SearchOptions}.
+	 *
+	 * @throws NullPointerException if {@code options} is {@code null}.
+	 */
+	public void setOptions(SearchOptions options) throws NullPointerException {
+		for (Search search : this.searches) {
+			search.setOptions(options);
+		}
+	}
+
+	/**
+	 * Stop the helper threads once they are idle. This {@code ParallelSearch} cannot search after this.
+	 */
+	public void shutdown() {
+		if (this.helpers != null) this.helpers.shutdown();
+	}
+
+	/**
+	 * Stop every thread as soon as possible. This may be called from any thread.
+	 */
+	public void stop() {
+		for (Search search : this.searches) {
+			search.stop();
+		}
+	}
+
+	/**
+	 * Choose the move with the most votes. Each thread votes for its move with its depth times how much better
+	 * its score is than the worst score of any thread, so a deeper search or a better score counts for more.<br>
+	 * A tie goes to the first thread.
+	 *
+	 * @param moves is the move of each thread.
+	 *
+	 * @return the move chosen.
+	 */
+	private int vote(int[] moves) {
+		int worst = Search.infinity;
+		for (int i = 0; i < moves.length; i++) {
+			if (moves[i] != Move.none) worst = Math.min(worst, this.searches[i].getScore());
+		}
+
+		long most = -1;
+		this.chosen = this.searches[0];
+		int move = moves[0];
+		for (int i = 0; i < moves.length; i++) {
+			if (moves[i] == Move.none) continue;
+			long votes = 0;
+			for (int j = 0; j < moves.length; j++) {
+				if (moves[j] == moves[i]) votes += (long)(this.searches[j].getScore() - worst + 20) * this.searches[j].getDepth();
+			} if (votes > most) {
+				most		= votes;
+				move		= moves[i];
+				this.chosen	= this.searches[i];
+			}
+		} return move;
+	}
+}
@@ -1,8 +1,5 @@
-import java.util.ArrayList;
 import java.util.Objects;
 
-import javax.swing.JOptionPane;
-
 /**
  * This {@code Pawn} represents a Pawn in the game of Chess. <br>
  * This is a subclass of {@link Piece}
@@ -12,9 +9,14 @@ import javax.swing.JOptionPane;
  * @author MrPineapple065
  */
 class Pawn extends Piece {
+	/**
+	 * The {@link PieceType} a {@code Pawn} can be promoted to, best first.
+	 */
+	private static final PieceType[] promotions = {PieceType.Queen, PieceType.Rook, PieceType.Bishop, PieceType.Knight};
+	
 	/**
 	 * A boolean determnining is the {@code Pawn} taken advantage of its first move.
-	 * Used in {@link #getLegal(Tile[][], Tile[])}.
+	 * Set by {@link #commit(Tile[][], int)}.
 	 */
 	private boolean advantage;
 	
@@ -45,6 +47,35 @@ class Pawn extends Piece {
 		return this.advantage;
 	}
 	
+	/**
+	 * Determine if {@code Pawn} making {@code move} captures <i>en passant</i>.<br>
+	 * Only the {@code Pawn} that has just advanced two {@link Tile} has {@link #advantage},
+	 * so the {@code Tile} it passed over is always empty.
+	 * 
+	 * @param board is the board.
+	 * @param move is the {@link Move} of {@code Pawn}.
+	 * 
+	 * @return	{@code true} if the move captures <i>en passant</i>.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private boolean capturesEnPassant(Tile[][] board, int move) {
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		if ((from & 7) == (to & 7)) return false;
+		Piece behind = board[from >>> 3][to & 7].getPiece();
+		return behind instanceof Pawn && !this.isAlly(behind) && ((Pawn)behind).advantage();
+	}
+	
+	/**
+	 * Advance {@code Pawn} with {@code move}.<br>
+	 * Sets {@link #hasMoved} and {@link #advantage}.
+	 * A {@code Pawn} captured <i>en passant</i> is removed by {@link ChessBoard#makeMove(int)}.
+	 */
+	@Override
+	public void commit(Tile[][] board, int move) {
+		this.hasMoved	= true;
+		this.advantage	= Move.isDoublePush(move);
+	}
+	
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)					return true;
@@ -54,87 +85,102 @@ class Pawn extends Piece {
 		if (hasMoved != other.hasMoved)		return false;
 		return true;
 	}
+
+	/**
+	 * {@code Pawn} advances one or, on its first move, two {@link Tile} and captures <b>diagonally</b>,
+	 * including <i>en passant</i>. Advancing to the last row is a promotion, so it is added with the captures.
+	 */
+	@Override
+	public void generate(ChessBoard board, int square, MoveList moves, boolean captures, boolean quiets) {
+		Bitboard bitboard = board.getBitboard();
+		long occupied = bitboard.getOccupied(), enemies = bitboard.getPieces(this.pieceColor.opposite());
+		int row = square >>> 3, column = square & 7, forward = this.isWhite() ? -1 : 1;
+		int newRow = row + forward;
+		if (newRow < 0 || newRow > 7) return;
+		
+		//Advancing
+		int to = Bitboard.square(newRow, column);
+		boolean promotion = newRow == 0 || newRow == 7;
+		if ((occupied & 1L << to) == 0 && (promotion ? captures : quiets)) {
+			this.add(square, to, 0, moves);
+			int twoRow = newRow + forward;
+			if (!this.hasMoved && twoRow >= 0 && twoRow <= 7) {
+				int two = Bitboard.square(twoRow, column);
+				if ((occupied & 1L << two) == 0) moves.add(Move.create(square, two, Move.doublePush));
+			}
+		} if (!captures) return;
+		
+		//Capturing
+		long attacks = this.getAttacks(square, occupied);
+		for (long targets = attacks & enemies; targets != 0; targets &= targets - 1) {
+			this.add(square, Long.numberOfTrailingZeros(targets), Move.capture, moves);
+		}
+		
+		//Black Pawn pass over row 2 and White Pawn pass over row 5; only the other color may capture
+		int enPassant = board.getEnPassant();
+		if (enPassant != 64 && (enPassant < 32) == this.isWhite() && (attacks & 1L << enPassant) != 0)
+			moves.add(Move.create(square, enPassant, Move.capture | Move.enPassant));
+	}
+	
+	/**
+	 * Add a move of {@code Pawn} to {@code moves}.<br>
+	 * A move to the last row is added once for each {@link PieceType} the {@code Pawn} can be promoted to.
+	 * 
+	 * @param from is the square the move starts on.
+	 * @param to is the square the move ends on.
+	 * @param flags are the flags of the {@link Move}.
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 */
+	private void add(int from, int to, int flags, MoveList moves) {
+		int row = to >>> 3;
+		if (row != 0 && row != 7) {
+			moves.add(Move.create(from, to, flags));
+			return;
+		} for (PieceType type : promotions) {
+			moves.add(Move.create(from, to, type, flags));
+		}
+	}
 	
 	/**
-	 * <p>Determine if move {@code Pawn} makes from {@code tiles[0]} to {@code tiles[1]} is legal.</p>
+	 * <p>Determine if move {@code Pawn} makes with {@code move} is legal.</p>
 	 * <p>A {@code Pawn} can must move <b>forward</b> <i>one</i> {@link Tile} at a time.<br>
 	 * Only the first move may {@code Pawn} move <i>two</i> {@code Tile} forward.</p>
 	 * <p>It must capture <b>diagonally</b>.<br>
 	 * En passant is a special pawn capture that can only occur <b>immediately</b> 
 	 * after {@code Pawn} makes a move of <i>two</i> {@code Tile} from its starting square.<br>
 	 * It can be captured by an <b><i>enemy</i></b> {@code Pawn} had it advanced <b><i>only one</i></b> {@code Tile}</p>
+	 * <p>The captured {@code Pawn} is only removed by {@link ChessBoard#makeMove(int)}.</p>
 	 */
 	@Override
-	public boolean getLegal(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
+	public boolean getLegal(Tile[][] board, int move) {
 		Objects.requireNonNull(board, "Pawn must be on a board");
-		Objects.requireNonNull(tiles, "Pawn must move");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
 		
-		int oldX = tiles[0].getRow(), oldY = tiles[0].getColumn(), newX = tiles[1].getRow(), newY = tiles[1].getColumn();
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		int oldX = from >>> 3, oldY = from & 7, newX = to >>> 3, newY = to & 7;
+		int forward = this.isWhite() ? oldX - newX : newX - oldX;
 		Piece newPosPiece = board[newX][newY].getPiece();
-		if (this.isWhite()) {
-			if (!this.hasMoved) {
-				if ((oldX - newX <= 2) && (oldY == newY)) {
-					if (newPosPiece != null) return false;
-					this.hasMoved = true;
-					this.advantage = oldX - newX == 2;
-					return true;
-				} if ((oldX - newX == 1) && (Math.abs(oldY - newY) == 1)) {
-					if (newPosPiece != null) {
-						this.hasMoved = true;
-						this.advantage = false;
-						return true;
-					}
-				}
-			} else {
-				if ((oldX - newX == 1) && (newY == oldY)) {
-					this.advantage = false;
-					return (newPosPiece == null);
-				} if ((oldX - newX == 1) && (Math.abs(oldY - newY) == 1)) {
-					if (newPosPiece != null) return true;
-					Piece behind = board[newX][oldY].getPiece();
-					if (behind instanceof Pawn) {
-						if (((Pawn)behind).advantage()) {
-							board[newX][oldY].setPiece(null);
-							return true;
-						}
-					}
-				}
-			}
-		} else {
-			if (!this.hasMoved) {
-				if (oldX - newX >= -2 && oldY == newY) {
-					if (newPosPiece != null) return false;
-					this.hasMoved = true;
-					this.advantage = oldX - newX == -2;
-					return true;
-				} if (oldX - newX == -1 && Math.abs(oldY - newY) == 1) {
-					if (newPosPiece != null) {
-						this.hasMoved = true;
-						this.advantage = false;
-						return true;
-					}
-				}
-			} else {
-				if (oldX - newX == -1 && newY == oldY) {
-					this.setAdvantage(false);
-					return (newPosPiece == null);
-				} if (oldX - newX == -1 && Math.abs(oldY - newY) == 1) {
-					if (newPosPiece != null) return true;
-					else {
-						Piece behind = board[newX][oldY].getPiece();
-						if (behind instanceof Pawn) {
-							if (((Pawn)behind).advantage()) {
-								board[newX][oldY].setPiece(null);
-								return true;
-							}
-						}
-					}
-				}
-			}
+		
+		if (oldY == newY) {	//Advancing
+			if (newPosPiece != null) return false;
+			return forward == 1 || (forward == 2 && !this.hasMoved);
+		} if (forward == 1 && Math.abs(oldY - newY) == 1) {	//Capturing
+			return newPosPiece != null || this.capturesEnPassant(board, move);
 		} return false;
 	}
 
+	/**
+	 * {@code Pawn} attacks the two {@link Tile} <b>diagonally</b> forward.
+	 */
+	@Override
+	public long getAttacks(int square, long occupied) {
+		return Attacks.pawn(this.pieceColor, square);
+	}
+
+	@Override
+	public PieceType getPieceType() {
+		return PieceType.Pawn;
+	}
+
 	@Override
 	public int getValue() {
 		return 1;
@@ -167,28 +213,11 @@ class Pawn extends Piece {
 	/**
 	 * Promote a {@code Pawn} that has made it to the other side of {@code board}.
 	 * 
-	 * @param tiles are the original and new positions of {@code Pawn}.
+	 * @param tile is the {@link Tile} {@code Pawn} has advanced to.
+	 * @param type is the {@link PieceType} {@code Pawn} is promoted to.
 	 */
-	public void promote(Tile[] tiles) {
-		Queen	queen	= new Queen	(this.pieceColor);
-		Bishop	bishop	= new Bishop(this.pieceColor);
-		Rook	rook	= new Rook	(this.pieceColor);
-		Knight	knight	= new Knight(this.pieceColor);
-		
-		switch (JOptionPane.showOptionDialog(null, "Which piece would you like to promote the pawn to?", "Promotion!", JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, new String[] {queen.toString(), bishop.toString(), rook.toString(), knight.toString()}, 0)) {
-		case 0:
-			tiles[1].setPiece(queen);
-			return;
-		case 1:
-			tiles[1].setPiece(bishop);
-			return;
-		case 2:
-			tiles[1].setPiece(rook);
-			return;
-		case 3:
-			tiles[1].setPiece(knight);
-			return;
-		}
+	public void promote(Tile tile, PieceType type) {
+		tile.setPiece(type.create(this.pieceColor));
 	}
 
 	/**
@@ -208,39 +237,6 @@ class Pawn extends Piece {
 		this.hasMoved = bool;
 	}
 
-	@Override
-	public Tile[] setTileCollide(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		Objects.requireNonNull(board, "Pawn must be on a board");
-		Objects.requireNonNull(tiles, "Pawn must move");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
-		
-		ArrayList<Tile> temp = new ArrayList<Tile>(2);
-		int oldX = tiles[0].getRow(), oldY = tiles[0].getColumn(), newX = tiles[1].getRow(), newY = tiles[1].getColumn();
-		
-		if (this.isWhite())
-			if (oldY != newY) {
-				temp.add(board[oldX][oldY]);
-				temp.add(board[newX][newY]);
-			} else for (int i = oldX; i >= newX; i--) {
-				temp.add(board[i][newY]);
-			}
-		else
-			if (oldY != newY) {
-				temp.add(board[oldX][oldY]);
-				temp.add(board[newX][newY]);
-			} else for (int i = oldX; i <= newX; i++) {
-				temp.add(board[i][newY]);
-			}
-		
-		//Cannot collide with self
-		temp.remove(board[oldX][oldY]);
-		
-		//Cannot collide when capturing
-		if (!this.isAlly(temp.get(temp.size() - 1).getPiece())) temp.remove(temp.size() - 1);
-		
-		return temp.toArray(new Tile[temp.size()]);
-	}
-
 	@Override
 	public String toString() {
 		switch (this.pieceColor) {
@@ -0,0 +1,288 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code Perft} class counts the positions reached by every sequence of legal moves to a fixed depth.<br>
+ * The counts of standard positions are well known, so they check that {@link ChessBoard#generateLegal(MoveList)},
+ * {@link ChessBoard#makeMove(int)} and {@link ChessBoard#unmakeMove()} agree with the rules,
+ * and the time taken measures how fast they are.
+ * <p>Each move from the position is counted on its own {@link ChessBoard} in a {@link ForkJoinPool},
+ * and the counts are printed move by move (<i>divide</i>) so a wrong count can be traced to the move causing it.
+ * Counts of positions already seen can be kept in a {@link Table} shared by every thread.</p>
+ * <p>Usage: {@code java Perft depth [-threads n] [-hash megabytes] [fen]}.
+ * The position defaults to {@link ChessBoard#startPosition}.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Perft {
+	/**
+	 * The {@link ChessBoard} moves are made on.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * A {@link MoveList} for each depth, so counting allocates nothing.
+	 */
+	private final MoveList[] moves;
+
+	/**
+	 * The {@link Table} of counts already found, or {@code null}.
+	 */
+	private final Table table;
+
+	/**
+	 * Create a {@code Perft} counting from {@code fen}.
+	 *
+	 * @param fen is the position, in <i>Forsyth-Edwards Notation</i>.
+	 * @param depth is the deepest count this makes.
+	 * @param table is the {@link Table} of counts already found, or {@code null} to find every count.
+	 *
+	 * @throws IllegalArgumentException if {@code fen} is not a position.
+	 */
+	public Perft(String fen, int depth, Table table) throws IllegalArgumentException {
+		this.board = new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+		this.board.setPosition(fen);
+		this.moves = new MoveList[depth + 1];
+		for (int i = 0; i < this.moves.length; i++) {
+			this.moves[i] = new MoveList();
+		} this.table = table;
+	}
+
+	/**
+	 * Count the positions {@code depth} moves from the position.<br>
+	 * The last move is not made; the number of legal moves is counted instead.
+	 *
+	 * @param depth is the number of moves.
+	 *
+	 * @return the number of positions.
+	 */
+	public long count(int depth) {
+		MoveList moves = this.moves[depth];
+		moves.clear();
+		this.board.generateLegal(moves);
+		if (depth <= 1) return depth == 1 ? moves.size() : 1;
+
+		long key = this.board.getKey();
+		if (this.table != null) {
+			long nodes = this.table.get(key, depth);
+			if (nodes >= 0) return nodes;
+		}
+
+		long nodes = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			this.board.makeMove(moves.get(i));
+			nodes += this.count(depth - 1);
+			this.board.unmakeMove();
+		} if (this.table != null) this.table.put(key, depth, nodes);
+		return nodes;
+	}
+
+	/**
+	 * Count the positions {@code depth} moves from {@code fen}, for each legal move in {@code fen}.<br>
+	 * Every move is counted as a separate task in {@code pool}.
+	 *
+	 * @param fen is the position, in <i>Forsyth-Edwards Notation</i>.
+	 * @param depth is the number of moves, at least {@code 1}.
+	 * @param table is the {@link Table} of counts already found, or {@code null}.
+	 * @param pool is the {@link ForkJoinPool} counting the moves.
+	 * @param moves is filled with each legal move.
+	 *
+	 * @return the number of positions after each move of {@code moves}.
+	 *
+	 * @throws IllegalArgumentException if {@code fen} is not a position or {@code depth} is less than {@code 1}.
+	 */
+	public static long[] divide(String fen, int depth, Table table, ForkJoinPool pool, MoveList moves) throws IllegalArgumentException {
+		if (depth < 1) throw new IllegalArgumentException("Illegal depth: " + depth);
+		Perft perft = new Perft(fen, depth, table);
+		moves.clear();
+		perft.board.generateLegal(moves);
+
+		List<Root> roots = new ArrayList<Root>(moves.size());
+		for (int i = 0; i < moves.size(); i++) {
+			roots.add(new Root(fen, moves.get(i), depth, table));
+		} return pool.submit(() -> {
+			long[] nodes = new long[roots.size()];
+			RecursiveTask.invokeAll(roots);
+			for (int i = 0; i < nodes.length; i++) {
+				nodes[i] = roots.get(i).join();
+			} return nodes;
+		}).join();
+	}
+
+	public static void main(String[] args) {
+		int depth = -1, threads = Runtime.getRuntime().availableProcessors(), megabytes = 0;
+		StringBuilder fen = new StringBuilder();
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "-threads":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-hash":
+					megabytes = Integer.parseInt(args[++i]);
+					break;
+				default:
+					if (depth < 0)	depth = Integer.parseInt(args[i]);
+					else			fen.append(args[i]).append(' ');
+				}
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			depth = -1;
+		} if (depth < 1 || threads < 1 || megabytes < 0) {
+			System.err.println("Usage: java Perft depth [-threads n] [-hash megabytes] [fen]");
+			System.exit(1);
+		}
+
+		String position = fen.length() == 0 ? ChessBoard.startPosition : fen.toString().trim();
+		Table table = megabytes == 0 ? null : new Table(megabytes);
+		MoveList moves = new MoveList();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+
+		long start = System.nanoTime();
+		long[] nodes = divide(position, depth, table, pool, moves);
+		long time = System.nanoTime() - start, total = 0;
+		pool.shutdown();
+
+		for (int i = 0; i < nodes.length; i++) {
+			System.out.println(Move.toString(moves.get(i)) + ": " + nodes[i]);
+			total += nodes[i];
+		} System.out.println();
+		System.out.println("Moves: " + nodes.length);
+		System.out.println("Nodes: " + total);
+		System.out.println("Time: " + time / 1_000_000 + " ms");
+		System.out.println("Nodes/second: " + (time == 0 ? 0 : total * 1_000_000_000L / time));
+	}
+
+	/**
+	 * The {@code Root} class counts the positions after one move on its own {@link Perft}.
+	 */
+	private static final class Root extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The position before {@link #move}.
+		 */
+		private final String fen;
+
+		/**
+		 * The {@link Move} counted.
+		 */
+		private final int move;
+
+		/**
+		 * The number of moves counted, including {@link #move}.
+		 */
+		private final int depth;
+
+		/**
+		 * The {@link Table} of counts already found, or {@code null}.
+		 */
+		private final Table table;
+
+		/**
+		 * Create a {@code Root} counting {@code move}.
+		 *
+		 * @param fen is the position before {@code move}.
+		 * @param move is the {@link Move}.
+		 * @param depth is the number of moves counted, including {@code move}.
+		 * @param table is the {@link Table} of counts already found, or {@code null}.
+		 */
+		private Root(String fen, int move, int depth, Table table) {
+			this.fen	= fen;
+			this.move	= move;
+			this.depth	= depth;
+			this.table	= table;
+		}
+
+		@Override
+		protected Long compute() {
+			Perft perft = new Perft(this.fen, this.depth, this.table);
+			perft.board.makeMove(this.move);
+			return perft.count(this.depth - 1);
+		}
+	}
+
+	/**
+	 * The {@code Table} class keeps the count of positions found below a position, keyed by its {@link Zobrist} key and depth.
+	 * <p>Threads read and write it without locking. Each entry stores its key xor'd with its count,
+	 * so an entry torn by two threads writing at once no longer matches its key and is ignored.<br>
+	 * A newer entry always replaces an older one in the same slot.</p>
+	 */
+	public static final class Table {
+		/**
+		 * The key of each entry, xor'd with {@link #nodes}.
+		 */
+		private final long[] keys;
+
+		/**
+		 * The count of each entry.
+		 */
+		private final long[] nodes;
+
+		/**
+		 * One less than the number of entries, which is a power of two.
+		 */
+		private final int mask;
+
+		/**
+		 * Create a {@code Table} using about {@code megabytes} of memory.
+		 *
+		 * @param megabytes is the memory to use, at least {@code 1}.
+		 *
+		 * @throws IllegalArgumentException if {@code megabytes} is less than {@code 1}.
+		 */
+		public Table(int megabytes) throws IllegalArgumentException {
+			if (megabytes < 1) throw new IllegalArgumentException("Illegal size: " + megabytes);
+			int entries = Integer.highestOneBit((int)Math.min((long)megabytes << 16, 1 << 30));
+			this.keys	= new long[entries];
+			this.nodes	= new long[entries];
+			this.mask	= entries - 1;
+		}
+
+		/**
+		 * Get the count of positions {@code depth} moves from the position whose key is {@code key}.
+		 *
+		 * @param key is the {@link Zobrist} key of the position.
+		 * @param depth is the number of moves.
+		 *
+		 * @return	the count.<br>
+		 * 			{@code -1} if it is not in this.
+		 */
+		public long get(long key, int depth) {
+			long entry = entry(key, depth);
+			int index = (int)entry & this.mask;
+			long nodes = this.nodes[index];
+			return (this.keys[index] ^ nodes) == entry ? nodes : -1;
+		}
+
+		/**
+		 * Mix {@code depth} into {@code key}, so the same position at different depths has different entries.
+		 *
+		 * @param key is the {@link Zobrist} key of the position.
+		 * @param depth is the number of moves.
+		 *
+		 * @return the key of the entry.
+		 */
+		private static long entry(long key, int depth) {
+			return key + depth * 0x9E3779B97F4A7C15L;
+		}
+
+		/**
+		 * Keep {@code nodes} as the count of positions {@code depth} moves from the position whose key is {@code key}.
+		 *
+		 * @param key is the {@link Zobrist} key of the position.
+		 * @param depth is the number of moves.
+		 * @param nodes is the count.
+		 */
+		public void put(long key, int depth, long nodes) {
+			long entry = entry(key, depth);
+			int index = (int)entry & this.mask;
+			this.nodes[index]	= nodes;
+			this.keys[index]	= entry ^ nodes;
+		}
+	}
+}
@@ -0,0 +1,243 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@code PgnGame} class holds one game of a <i>Portable Game Notation</i> file: its tag pairs, the position it started from,
+ * its moves and its result.
+ * <p>The moves are packed by {@link Move}, so they can be made on a {@link ChessBoard} set to {@link #getPosition()}
+ * one after another with {@link ChessBoard#makeMove(int)}. Comments, variations and annotations are not kept.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class PgnGame {
+	/**
+	 * The tags of the <i>Seven Tag Roster</i>, which every game is written with, in the order they are written.
+	 */
+	public static final String[] roster = {"Event", "Site", "Date", "Round", "White", "Black", "Result"};
+
+	/**
+	 * The result of a game that is not over, or whose result is not known.
+	 */
+	public static final String unknown = "*";
+
+	/**
+	 * The tag pairs, in the order they were read or set.
+	 */
+	private final Map<String, String> tags;
+
+	/**
+	 * The moves, of which the first {@link #size} are played.
+	 */
+	private int[] moves;
+
+	/**
+	 * The number of moves.
+	 */
+	private int size;
+
+	/**
+	 * The position the game started from, in <i>Forsyth-Edwards Notation</i>.
+	 */
+	private String position;
+
+	/**
+	 * The result: {@code 1-0}, {@code 0-1}, {@code 1/2-1/2} or {@link #unknown}.
+	 */
+	private String result;
+
+	/**
+	 * Create a {@code PgnGame} from {@link ChessBoard#startPosition} with no tag and no move.
+	 */
+	public PgnGame() {
+		this.tags		= new LinkedHashMap<>();
+		this.moves		= new int[128];
+		this.size		= 0;
+		this.position	= ChessBoard.startPosition;
+		this.result		= unknown;
+	}
+
+	/**
+	 * Create a {@code PgnGame} of the moves made on {@code board} since it was {@link ChessBoard#setPosition(String)} or {@link ChessBoard#reset()},
+	 * with the names of its {@link Player} as the {@code White} and {@code Black} tags.<br>
+	 * The result is that of the position on {@code board}: a win after <b>check mate</b>, a draw after <b>stalemate</b>
+	 * and {@link #unknown} otherwise. To find the position the game started from, every move is taken back and made again,
+	 * so {@code board} is then as it was.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 *
+	 * @throws IllegalArgumentException if a null move was made on {@code board}; see {@link ChessBoard#makeNullMove()}.
+	 * @throws NullPointerException if {@code board} is {@code null}.
+	 */
+	public PgnGame(ChessBoard board) throws IllegalArgumentException, NullPointerException {
+		this();
+		Objects.requireNonNull(board, "There must be a board.");
+		int plies = board.getPly();
+		for (int i = 0; i < plies; i++) {
+			int move = board.getMove(i);
+			if (move == Move.none) throw new IllegalArgumentException("Illegal move: " + Move.toString(move));
+			this.add(move);
+		}
+
+		for (int i = 0; i < plies; i++) {
+			board.unmakeMove();
+		} this.position = board.getPosition();
+		for (int i = 0; i < plies; i++) {
+			board.makeMove(this.moves[i]);
+		}
+
+		for (Player player : new Player[] {board.getCurrentPlayer(), board.getNextPlayer()}) {
+			this.setTag(player.getPlayerColor() == PieceColor.White ? "White" : "Black", player.getName());
+		}
+
+		MoveList moves = new MoveList();
+		board.generateLegal(moves);
+		if (moves.size() == 0) {
+			if (board.getCheckers() == 0)												this.result = "1/2-1/2";
+			else if (board.getCurrentPlayer().getPlayerColor() == PieceColor.White)	this.result = "0-1";
+			else																		this.result = "1-0";
+		}
+	}
+
+	/**
+	 * Add {@code move}, made in the position after the moves before it.
+	 *
+	 * @param move is the {@link Move}.
+	 */
+	public void add(int move) {
+		if (this.size == this.moves.length) this.moves = Arrays.copyOf(this.moves, 2 * this.size);
+		this.moves[this.size++] = move;
+	}
+
+	/**
+	 * Get the move at {@code index}.
+	 *
+	 * @param index is the index of the move, from {@code 0} to {@link #size()} less {@code 1}.
+	 *
+	 * @return the {@link Move}.
+	 *
+	 * @throws IllegalArgumentException if {@code index} is out of range.
+	 */
+	public int getMove(int index) throws IllegalArgumentException {
+		if (index < 0 || index >= this.size) throw new IllegalArgumentException("Illegal index: " + index);
+		return this.moves[index];
+	}
+
+	/**
+	 * @return {@link #position}
+	 */
+	public String getPosition() {
+		return this.position;
+	}
+
+	/**
+	 * @return {@link #result}
+	 */
+	public String getResult() {
+		return this.result;
+	}
+
+	/**
+	 * Get the value of the tag {@code name}.
+	 *
+	 * @param name is the name of the tag, such as {@code White}.
+	 *
+	 * @return	the value.<br>
+	 * 			{@code null} if the game has no such tag.
+	 */
+	public String getTag(String name) {
+		return this.tags.get(name);
+	}
+
+	/**
+	 * @return the tag pairs, in the order they were read or set; the {@code Map} cannot be changed.
+	 */
+	public Map<String, String> getTags() {
+		return Collections.unmodifiableMap(this.tags);
+	}
+
+	/**
+	 * Make every move on {@code board}, starting from {@link #getPosition()}.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 *
+	 * @throws IllegalArgumentException if a move is not legal, or the game is longer than {@link ChessBoard#maxPly}.
+	 * @throws NullPointerException if {@code board} is {@code null}.
+	 */
+	public void replay(ChessBoard board) throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(board, "There must be a board.");
+		if (this.size > ChessBoard.maxPly) throw new IllegalArgumentException("Illegal number of moves: " + this.size);
+		board.setPosition(this.position);
+		for (int i = 0; i < this.size; i++) {
+			if (!board.isLegal(this.moves[i])) throw new IllegalArgumentException("Illegal move: " + Move.toString(this.moves[i]));
+			board.makeMove(this.moves[i]);
+		}
+	}
+
+	/**
+	 * Remove every tag and move, and start again from {@link ChessBoard#startPosition}, so the {@code PgnGame} can be read into again.
+	 */
+	public void reset() {
+		this.tags.clear();
+		this.size		= 0;
+		this.position	= ChessBoard.startPosition;
+		this.result		= unknown;
+	}
+
+	/**
+	 * Change {@link #position} to {@code position}.<br>
+	 * The moves must then be made from it, so it should be set before any is added.
+	 *
+	 * @param position is the position, in <i>Forsyth-Edwards Notation</i>.
+	 *
+	 * @throws NullPointerException if {@code position} is {@code null}.
+	 */
+	public void setPosition(String position) throws NullPointerException {
+		this.position = Objects.requireNonNull(position, "There must be a position.");
+	}
+
+	/**
+	 * Change {@link #result} to {@code result}.
+	 *
+	 * @param result is {@code 1-0}, {@code 0-1}, {@code 1/2-1/2} or {@link #unknown}.
+	 *
+	 * @throws IllegalArgumentException if {@code result} is none of them.
+	 */
+	public void setResult(String result) throws IllegalArgumentException {
+		switch (String.valueOf(result)) {
+		case "1-0": case "0-1": case "1/2-1/2": case unknown:
+			this.result = result;
+			break;
+		default:
+			throw new IllegalArgumentException("Illegal result: " + result);
+		}
+	}
+
+	/**
+	 * Change the value of the tag {@code name} to {@code value}.
+	 *
+	 * @param name is the name of the tag, such as {@code White}.
+	 * @param value is the value.
+	 *
+	 * @throws NullPointerException if {@code name} or {@code value} is {@code null}.
+	 */
+	public void setTag(String name, String value) throws NullPointerException {
+		this.tags.put(Objects.requireNonNull(name, "There must be a tag."), Objects.requireNonNull(value, "There must be a value."));
+	}
+
+	/**
+	 * @return the number of moves.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public String toString() {
+		return this.tags + " " + this.position + " " + this.size + " moves " + this.result;
+	}
+}
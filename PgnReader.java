@@ -0,0 +1,452 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The {@code PgnReader} class reads the games of a <i>Portable Game Notation</i> file one at a time, so a file of any size
+ * can be read with the memory of a single game.
+ * <p>The file is read from a {@link ReadableByteChannel} into a buffer of {@link #bufferSize} bytes that is used again and again,
+ * and the text is split into tag pairs and moves without making a {@code String} of each line.
+ * Each move, in <i>Standard Algebraic Notation</i>, is read against a {@link ChessBoard} of the game with {@link San#parse(ChessBoard, CharSequence)}
+ * and made, so every {@link PgnGame} read holds legal moves from its position. Comments, variations, move numbers,
+ * <i>numeric annotation glyphs</i> and lines starting with {@code %} are skipped.</p>
+ * <p>Tag values are read as UTF-8. A game whose position or moves are not legal is skipped to its end,
+ * so the next game can still be read; see {@link #read(PgnGame)}.</p>
+ * <p>Usage: {@code java PgnReader file [-write file]} reads every game of a file, optionally writing each again with
+ * a {@link PgnWriter}, and prints the games and moves read per second.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class PgnReader implements Closeable {
+	/**
+	 * The number of bytes read from the channel at once.
+	 */
+	public static final int bufferSize = 1 << 16;
+
+	/**
+	 * The channel the games are read from.
+	 */
+	private final ReadableByteChannel channel;
+
+	/**
+	 * The buffer the channel is read into.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * The array of {@link #buffer}.
+	 */
+	private final byte[] bytes;
+
+	/**
+	 * The index of the next byte of {@link #bytes} to read.
+	 */
+	private int position;
+
+	/**
+	 * The number of bytes of {@link #bytes} read from the channel.
+	 */
+	private int limit;
+
+	/**
+	 * The number of the line being read, from {@code 1}.
+	 */
+	private long line;
+
+	/**
+	 * {@code true} if the next byte starts a line.
+	 */
+	private boolean lineStart;
+
+	/**
+	 * The number of games read, including those skipped.
+	 */
+	private long games;
+
+	/**
+	 * The {@link ChessBoard} each move is read against.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * The move, or the name of a tag, being read.
+	 */
+	private final StringBuilder token;
+
+	/**
+	 * The bytes of the value of a tag being read.
+	 */
+	private byte[] value;
+
+	/**
+	 * Create a {@code PgnReader} of {@code channel}.
+	 *
+	 * @param channel is the channel the games are read from, such as a {@link FileChannel}.
+	 *
+	 * @throws NullPointerException if {@code channel} is {@code null}.
+	 */
+	public PgnReader(ReadableByteChannel channel) throws NullPointerException {
+		this.channel	= Objects.requireNonNull(channel, "There must be a channel.");
+		this.buffer		= ByteBuffer.allocate(bufferSize);
+		this.bytes		= this.buffer.array();
+		this.line		= 1;
+		this.lineStart	= true;
+		this.board		= new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+		this.token		= new StringBuilder(16);
+		this.value		= new byte[64];
+	}
+
+	/**
+	 * Create a {@code PgnReader} of the file at {@code path}.
+	 *
+	 * @param path is the path of the file.
+	 *
+	 * @return the {@code PgnReader}.
+	 *
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public static PgnReader open(Path path) throws IOException {
+		return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * Read more of the channel into {@link #bytes}.
+	 *
+	 * @return	{@code true} if any byte was read.<br>
+	 * 			{@code false} at the end of the channel.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private boolean fill() throws IOException {
+		int read;
+		do {
+			this.buffer.clear();
+			read = this.channel.read(this.buffer);
+		} while (read == 0);
+		if (read < 0) return false;
+		this.position	= 0;
+		this.limit		= read;
+		return true;
+	}
+
+	/**
+	 * @return {@link #games}
+	 */
+	public long getGames() {
+		return this.games;
+	}
+
+	/**
+	 * Determine if {@code c} may be part of a move, a move number or a result.
+	 *
+	 * @param c is the character.
+	 *
+	 * @return	{@code true} if {@code c} is a letter, a digit or one of {@code +#=:-/*!?}.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private static boolean isSymbol(int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || (c >= 0 && "+#=:-/*!?_".indexOf(c) >= 0);
+	}
+
+	/**
+	 * Read the next game.
+	 *
+	 * @return	the {@link PgnGame}.<br>
+	 * 			{@code null} at the end of the channel.
+	 *
+	 * @throws IllegalArgumentException if the game is not legal; the next game can still be read.
+	 * @throws IOException if the channel cannot be read.
+	 */
+	public PgnGame next() throws IllegalArgumentException, IOException {
+		PgnGame game = new PgnGame();
+		return this.read(game) ? game : null;
+	}
+
+	/**
+	 * Look at the next byte without reading it.
+	 *
+	 * @return	the byte, from {@code 0} to {@code 255}.<br>
+	 * 			{@code -1} at the end of the channel.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private int peek() throws IOException {
+		if (this.position == this.limit && !this.fill()) return -1;
+		return this.bytes[this.position] & 0xFF;
+	}
+
+	/**
+	 * Read the next byte.
+	 *
+	 * @return	the byte, from {@code 0} to {@code 255}.<br>
+	 * 			{@code -1} at the end of the channel.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private int read() throws IOException {
+		if (this.position == this.limit && !this.fill()) return -1;
+		int c = this.bytes[this.position++] & 0xFF;
+		this.lineStart = c == '\n';
+		if (this.lineStart) this.line++;
+		return c;
+	}
+
+	/**
+	 * Read the next game into {@code game}, which is {@link PgnGame#reset()} first, so one {@code PgnGame} can be read into again and again.<br>
+	 * The result is that of the movetext, or else of the {@code Result} tag.
+	 *
+	 * @param game is the {@link PgnGame} read into.
+	 *
+	 * @return	{@code true} if a game was read.<br>
+	 * 			{@code false} at the end of the channel.
+	 *
+	 * @throws IllegalArgumentException if the position or a move of the game is not legal; the rest of the game is skipped,
+	 * 									so the next game can still be read.
+	 * @throws IOException if the channel cannot be read.
+	 * @throws NullPointerException if {@code game} is {@code null}.
+	 */
+	public boolean read(PgnGame game) throws IllegalArgumentException, IOException, NullPointerException {
+		Objects.requireNonNull(game, "There must be a game.");
+		game.reset();
+		int c = this.skip();
+		if (c < 0) return false;
+		this.games++;
+		long first = this.line;
+
+		//Tag pairs
+		while (c == '[') {
+			this.read();
+			this.readTag(game);
+			c = this.skip();
+		}
+
+		String error = null, result = null;
+		try {
+			String fen = game.getTag("FEN");
+			if (fen != null) game.setPosition(fen);
+			this.board.setPosition(game.getPosition());
+		} catch (IllegalArgumentException iae) {
+			error = iae.getMessage();
+		}
+
+		//Movetext, up to the result or the next game
+		while ((c = this.skip()) >= 0 && c != '[') {
+			if (!isSymbol(c)) {
+				this.read();
+				if (c == '{')		this.skipComment();
+				else if (c == ';')	this.skipLine();
+				else if (c == '(')	this.skipVariation();
+				continue;
+			}
+
+			this.readToken();
+			StringBuilder token = this.token;
+			if (isResult(token)) {
+				result = token.toString();
+				break;
+			} if (error != null || isNumber(token)) continue;
+			try {
+				int move = San.parse(this.board, token);
+				game.add(move);
+				this.board.makeMove(move);
+				if (this.board.getPly() == ChessBoard.maxPly) this.board.setPosition(this.board.getPosition());
+			} catch (IllegalArgumentException iae) {
+				error = iae.getMessage() + " after " + game.size() + " moves";
+			}
+		}
+
+		if (error != null) throw new IllegalArgumentException("Illegal game at line " + first + ": " + error);
+		if (result == null) result = game.getTag("Result");
+		try {
+			if (result != null) game.setResult(result);
+		} catch (IllegalArgumentException iae) {
+			game.setResult(PgnGame.unknown);
+		} return true;
+	}
+
+	/**
+	 * Read a tag pair, after its {@code [}, into {@code game}.
+	 *
+	 * @param game is the {@link PgnGame}.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private void readTag(PgnGame game) throws IOException {
+		int c;
+		while ((c = this.peek()) == ' ' || c == '\t') this.read();
+		StringBuilder name = this.token;
+		name.setLength(0);
+		while ((c = this.peek()) >= 0 && c != '"' && c != ']' && c > ' ') name.append((char)this.read());
+
+		while ((c = this.peek()) >= 0 && c != '"' && c != ']' && c != '\n') this.read();
+		if (c == '"') {
+			this.read();
+			int size = 0;
+			while ((c = this.read()) >= 0 && c != '"' && c != '\n') {
+				if (c == '\\') c = this.read();
+				if (c < 0) break;
+				if (size == this.value.length) this.value = Arrays.copyOf(this.value, 2 * size);
+				this.value[size++] = (byte)c;
+			} if (name.length() > 0) game.setTag(name.toString(), new String(this.value, 0, size, StandardCharsets.UTF_8));
+		}
+
+		//The rest of the tag pair
+		while (c >= 0 && c != ']' && c != '\n') c = this.read();
+	}
+
+	/**
+	 * Read a move, a move number or a result into {@link #token}.<br>
+	 * A move number ends at its dots, so {@code 12.e4} is read as {@code 12} and then {@code e4}.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private void readToken() throws IOException {
+		StringBuilder token = this.token;
+		token.setLength(0);
+		int c;
+		while (isSymbol(c = this.peek())) token.append((char)this.read());
+	}
+
+	/**
+	 * Determine if {@code token} is a move number.
+	 *
+	 * @param token is the token.
+	 *
+	 * @return	{@code true} if {@code token} is only digits.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private static boolean isNumber(CharSequence token) {
+		for (int i = 0; i < token.length(); i++) {
+			if (token.charAt(i) < '0' || token.charAt(i) > '9') return false;
+		} return true;
+	}
+
+	/**
+	 * Determine if {@code token} is a result that ends a game.
+	 *
+	 * @param token is the token.
+	 *
+	 * @return	{@code true} if {@code token} is {@code 1-0}, {@code 0-1}, {@code 1/2-1/2} or {@code *}.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private static boolean isResult(CharSequence token) {
+		switch (token.length()) {
+		case 1:
+			return token.charAt(0) == '*';
+		case 3:
+			return token.charAt(1) == '-' && ((token.charAt(0) == '1' && token.charAt(2) == '0') || (token.charAt(0) == '0' && token.charAt(2) == '1'));
+		case 7:
+			return "1/2-1/2".contentEquals(token);
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Skip whitespace, move number dots, <i>numeric annotation glyphs</i> such as {@code $1} and lines starting with {@code %}.
+	 *
+	 * @return	the next byte, which is not read.<br>
+	 * 			{@code -1} at the end of the channel.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private int skip() throws IOException {
+		int c;
+		while ((c = this.peek()) >= 0) {
+			if (c == '%' && this.lineStart)	this.skipLine();
+			else if (c == '$') {
+				this.read();
+				while ((c = this.peek()) >= '0' && c <= '9') this.read();
+			} else if (c <= ' ' || c == '.')	this.read();
+			else								break;
+		} return c;
+	}
+
+	/**
+	 * Skip a comment, after its <code>{</code>.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private void skipComment() throws IOException {
+		int c;
+		while ((c = this.read()) >= 0 && c != '}');
+	}
+
+	/**
+	 * Skip the rest of the line.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private void skipLine() throws IOException {
+		int c;
+		while ((c = this.read()) >= 0 && c != '\n');
+	}
+
+	/**
+	 * Skip a variation, after its {@code (}, with the variations and comments within it.
+	 *
+	 * @throws IOException if the channel cannot be read.
+	 */
+	private void skipVariation() throws IOException {
+		int depth = 1, c;
+		while (depth > 0 && (c = this.read()) >= 0) {
+			if (c == '(')		depth++;
+			else if (c == ')')	depth--;
+			else if (c == '{')	this.skipComment();
+			else if (c == ';')	this.skipLine();
+		}
+	}
+
+	public static void main(String[] args) {
+		String input = null, output = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-write") && i + 1 < args.length)	output = args[++i];
+			else if (input == null)								input = args[i];
+			else												input = null;
+		} if (input == null) {
+			System.err.println("Usage: java PgnReader file [-write file]");
+			System.exit(1);
+		}
+
+		long moves = 0, errors = 0, start = System.nanoTime();
+		try (PgnReader reader = open(Paths.get(input)); PgnWriter writer = output == null ? null : PgnWriter.open(Paths.get(output))) {
+			PgnGame game = new PgnGame();
+			while (true) {
+				try {
+					if (!reader.read(game)) break;
+				} catch (IllegalArgumentException iae) {
+					System.err.println(iae.getMessage());
+					errors++;
+					continue;
+				} moves += game.size();
+				if (writer != null) writer.write(game);
+			}
+
+			long time = Math.max(1, System.nanoTime() - start);
+			System.out.println("Games: " + reader.getGames());
+			System.out.println("Illegal games: " + errors);
+			System.out.println("Moves: " + moves);
+			System.out.println("Time: " + time / 1_000_000 + " ms");
+			System.out.println("Games/second: " + reader.getGames() * 1_000_000_000 / time);
+			System.out.println("Moves/second: " + moves * 1_000_000_000 / time);
+		} catch (IOException ioe) {
+			System.err.println(ioe.getMessage());
+			System.exit(1);
+		}
+	}
+}
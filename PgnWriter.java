@@ -0,0 +1,178 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@code PgnWriter} class writes games in the export format of <i>Portable Game Notation</i>, as read by {@link PgnReader}.
+ * <p>Each game starts with the tags of the <i>Seven Tag Roster</i>, in order and {@code ?} when not known,
+ * then {@code SetUp} and {@code FEN} if it did not start from {@link ChessBoard#startPosition}, then every other tag.
+ * Its moves follow in <i>Standard Algebraic Notation</i>, with move numbers and no line longer than {@link #lineLength},
+ * and end with the result.</p>
+ * <p>A game can be written from a {@link PgnGame}, or from the moves made on a {@link ChessBoard};
+ * see {@link #write(ChessBoard)}.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class PgnWriter implements Closeable, Flushable {
+	/**
+	 * The most characters on a line of moves.
+	 */
+	public static final int lineLength = 80;
+
+	/**
+	 * Where the games are written.
+	 */
+	private final Writer out;
+
+	/**
+	 * The {@link ChessBoard} each move is written from.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * The game being written.
+	 */
+	private final StringBuilder text;
+
+	/**
+	 * Create a {@code PgnWriter} to {@code out}.
+	 *
+	 * @param out is where the games are written; it should be buffered, as each game is written at once.
+	 *
+	 * @throws NullPointerException if {@code out} is {@code null}.
+	 */
+	public PgnWriter(Writer out) throws NullPointerException {
+		this.out	= Objects.requireNonNull(out, "There must be a writer.");
+		this.board	= new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+		this.text	= new StringBuilder(1024);
+	}
+
+	/**
+	 * Create a {@code PgnWriter} to the file at {@code path}, in UTF-8, replacing it if it exists.
+	 *
+	 * @param path is the path of the file.
+	 *
+	 * @return the {@code PgnWriter}.
+	 *
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public static PgnWriter open(Path path) throws IOException {
+		return new PgnWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Write the tag {@code name} with {@code value} to {@link #text}.
+	 *
+	 * @param name is the name of the tag.
+	 * @param value is the value, in which {@code \} and {@code "} are escaped.
+	 */
+	private void appendTag(String name, String value) {
+		StringBuilder text = this.text;
+		text.append('[').append(name).append(" \"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' || c == '"') text.append('\\');
+			text.append(c);
+		} text.append("\"]\n");
+	}
+
+	/**
+	 * Write {@code word} to {@link #text}, on a new line if it would make the line longer than {@link #lineLength}.
+	 *
+	 * @param word is the word.
+	 * @param lineStart is the index in {@link #text} the line starts at.
+	 *
+	 * @return the index the line now starts at.
+	 */
+	private int appendWord(CharSequence word, int lineStart) {
+		StringBuilder text = this.text;
+		if (text.length() > lineStart) {
+			if (text.length() - lineStart + 1 + word.length() > lineLength) {
+				text.append('\n');
+				lineStart = text.length();
+			} else text.append(' ');
+		} text.append(word);
+		return lineStart;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.out.close();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		this.out.flush();
+	}
+
+	/**
+	 * Write the moves made on {@code board} since it was {@link ChessBoard#setPosition(String)} or {@link ChessBoard#reset()},
+	 * with the names of its {@link Player} and the result of its position; see {@link PgnGame#PgnGame(ChessBoard)}.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 *
+	 * @throws IllegalArgumentException if a null move was made on {@code board}.
+	 * @throws IOException if the game cannot be written.
+	 * @throws NullPointerException if {@code board} is {@code null}.
+	 */
+	public void write(ChessBoard board) throws IllegalArgumentException, IOException, NullPointerException {
+		this.write(new PgnGame(board));
+	}
+
+	/**
+	 * Write {@code game}.
+	 *
+	 * @param game is the {@link PgnGame}.
+	 *
+	 * @throws IllegalArgumentException if the position or a move of {@code game} is not legal.
+	 * @throws IOException if the game cannot be written.
+	 * @throws NullPointerException if {@code game} is {@code null}.
+	 */
+	public void write(PgnGame game) throws IllegalArgumentException, IOException, NullPointerException {
+		Objects.requireNonNull(game, "There must be a game.");
+		ChessBoard board = this.board;
+		StringBuilder text = this.text;
+		text.setLength(0);
+		board.setPosition(game.getPosition());
+
+		//Tag pairs
+		Map<String, String> tags = game.getTags();
+		for (String name : PgnGame.roster) {
+			String value = name.equals("Result") ? game.getResult() : tags.get(name);
+			this.appendTag(name, value != null ? value : name.equals("Date") ? "????.??.??" : "?");
+		} if (!game.getPosition().equals(ChessBoard.startPosition)) {
+			this.appendTag("SetUp", "1");
+			this.appendTag("FEN", game.getPosition());
+		} for (Map.Entry<String, String> tag : tags.entrySet()) {
+			switch (tag.getKey()) {
+			case "Event": case "Site": case "Date": case "Round": case "White": case "Black": case "Result": case "SetUp": case "FEN":
+				break;
+			default:
+				this.appendTag(tag.getKey(), tag.getValue());
+			}
+		} text.append('\n');
+
+		//Movetext
+		int lineStart = text.length();
+		StringBuilder word = new StringBuilder(16);
+		for (int i = 0; i < game.size(); i++) {
+			int move = game.getMove(i);
+			word.setLength(0);
+			if (board.getCurrentPlayer().getPlayerColor() == PieceColor.White)	word.append(board.getFullmoveNumber()).append(". ");
+			else if (i == 0)													word.append(board.getFullmoveNumber()).append("... ");
+			lineStart = this.appendWord(San.append(board, move, word), lineStart);
+			board.makeMove(move);
+			if (board.getPly() == ChessBoard.maxPly) board.setPosition(board.getPosition());
+		} this.appendWord(game.getResult(), lineStart);
+		text.append("\n\n");
+		this.out.append(text);
+	}
+}
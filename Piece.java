@@ -29,138 +29,81 @@ public abstract class Piece {
 	}
 	
 	/**
-	 * Determine if {@code piece} <i>collides</i> with other {@code piece} along its journey.
+	 * Determine if this <i>collides</i> with another {@code Piece} when making {@code move}.<br>
+	 * This collides if any square strictly between the squares of {@code move} is occupied; see {@link Attacks#between(int, int)}.
+	 * A {@link Knight} or {@link King} has no such squares, so it never collides.
+	 * Whether the last square holds an ally is left to the caller.
 	 * 
-	 * @param tilesCollide an {@code Array} of {@link Tile} a {@code piece} takes on its journey.
+	 * @param board is the {@link ChessBoard}.
+	 * @param move is the {@link Move}.
 	 * 
-	 * @return	{@code true} if {@code piece} collides. <br>
-	 * 			{@code false} if {@code piece} does not collide.
+	 * @return	{@code true} if this collides. <br>
+	 * 			{@code false} if this does not collide.
 	 */
-	public static boolean collide(Tile[] tilesCollide) {		
-		Objects.requireNonNull(tilesCollide, "Piece must move.");
-		for (Tile tile : tilesCollide) {
-			if (tile.getPiece() != null) return true;
-		} return false;
+	public boolean collide(ChessBoard board, int move) {
+		return (Attacks.between(Move.getFrom(move), Move.getTo(move)) & board.getBitboard().getOccupied()) != 0;
 	}
 	
 	/**
-	 * Determine if the {@link King} can move out of a <b>check</b>.
-	 * 
-	 * @param board is the {@link ChessBoard}.
-	 * @param tiles are the original and new positions of this.
+	 * Apply the changes to this that come from making {@code move}.<br>
+	 * This is called once, when the move is made, before this is placed on the new {@link Tile}.
+	 * {@link #getLegal(Tile[][], int)} never changes this.
 	 * 
-	 * @return	{@code true} if {@code King} can move. <br>
-	 * 			{@code false} if {@code King} cannot move.
+	 * @param board is the board.
+	 * @param move is the {@link Move} this makes.
 	 */
-	public boolean canUnCheck(ChessBoard board, Tile[] tiles) {
-		Objects.requireNonNull(board, "There must be a board.");
-		Objects.requireNonNull(tiles, "Piece must have moved");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
-		
-		Tile kingTile;
-		try {
-			kingTile = board.findKing(this, true);
-		} catch (IllegalStateException ise) {
-			throw ise;
-		}
-		
-		Tile[][] b = board.getBoard(); //Board
-		Tile tempKingTile;		//The Tile to check for check
-		Piece tempKingTilePiece;//The piece on tempKingtile
-		int row	= kingTile.getRow(), column = kingTile.getColumn();
-		
-		for (int x : new int[] {-1, 0, 1}) {
-			for (int y : new int[] {-1, 0, 1}) {
-				if (x == 0 && y == 0) continue;
-				try {
-					//set the tempKingTile to a surroundingTile.
-					tempKingTile = b[row + x][column + y];
-					tempKingTilePiece = tempKingTile.getPiece();
-					if (!kingTile.getPiece().isAlly(tempKingTilePiece))
-						if (!this.checkKing(b, tiles, tempKingTile)) return true;
-				} catch (ArrayIndexOutOfBoundsException aiooe) {
-					continue;
-				}
-			}
-		} return false;
-	}
-
+	public void commit(Tile[][] board, int move) {}
+	
+	@Override
+	public abstract boolean equals(Object obj);
+	
 	/**
-	 * Determine if <i>any</i> move puts the {@link King} in <b>check</b>.
+	 * Add every <i>pseudo-legal</i> move of this from {@code square} to {@code moves}.<br>
+	 * A pseudo-legal move follows how this moves, does not jump and does not capture an ally,
+	 * but it might leave the {@link King} in <b>check</b>.
 	 * 
-	 * @param board is the board
-	 * @param tiles are the original and new positions of {@link Piece}.
-	 * @param kingTile is the {@link Tile} where the {@link King} is.
+	 * @param board is the {@link ChessBoard}.
+	 * @param square is the square this is on.
+	 * @param moves is the {@link MoveList} the moves are added to.
 	 * 
-	 * @return	{@code true} if a move puts the {@code King} in <b>check</b>. <br>
-	 * 			{@code false} if a move does not put the {@code King} in <b>check</b>.
+	 * @see #generate(ChessBoard, int, MoveList, boolean, boolean)
 	 */
-	public boolean checkKing(Tile[][] board, Tile[] tiles, Tile kingTile) {
-		//Determine if a piece can move from its current position to the King
-		if (this.getLegal(board, new Tile[]{tiles[1], kingTile}))
-			return (!Piece.collide(this.setTileCollide(board, new Tile[] {tiles[1], kingTile})));
-		return false;
+	public void generate(ChessBoard board, int square, MoveList moves) {
+		this.generate(board, square, moves, true, true);
 	}
 	
 	/**
-	 * Determine, when <i>any</i> {@link Piece} moves, if the {@link King} becomes <b>check</b>.<br>
-	 * This ensures that a piece cannot move <i>away</i> from protecting the {@code King}.<br>
-	 * This also ensures that the {@code King} cannot move itself into <b>check</b>.
-	 * 
-	 * @param board is the {@link ChessBoard}
-	 * @param tiles are the original and new positions of {@code piece}.
+	 * Add the <i>pseudo-legal</i> moves of this from {@code square} of either kind to {@code moves}:
+	 * captures and promotions, or every other move.
+	 * <p>This moves to every square it attacks that does not hold an ally; see {@link #getAttacks(int, long)}.</p>
 	 * 
-	 * @return	{@code true} if the {@code King} is <b>check</b>. <br>
-	 * 			{@code false} if the {@code King} is <b>not check</b>.
-	 */
-	public boolean determineKingisCheck(ChessBoard board, Tile[] tiles) {
-		//Store the original values of pieces in tiles.
-		//if the new position is unsafe, the piece moves back to its original position.
-		Piece tile0OrigPiece = this;
-		Piece tile1OrigPiece = tiles[1].getPiece();
-		
-		//temporarily advance the Piece.
-		tiles[1].setPiece(this);
-		tiles[0].setPiece(null);
-		
-		//Determine if the King is moving.
-		if (this instanceof King) {
-			if(((King)this).determineCheck(this, board.getBoard(), tiles[1])) {
-				tiles[0].setPiece(tile0OrigPiece);
-				tiles[1].setPiece(tile1OrigPiece);
-				return true;
-			} else {
-				tiles[0].setPiece(tile0OrigPiece);
-				tiles[1].setPiece(tile1OrigPiece);
-				return false;
-			}
-		}
-		//Piece is not King.
-		//Piece might be Pawn getting promoted.
-		if (this instanceof Pawn) {
-			int row = tiles[1].getRow();
-			if (row == 7 || row == 0) {
-				((Pawn)this).promote(tiles);
-				tile0OrigPiece = tiles[1].getPiece();
-				tile1OrigPiece = tiles[0].getPiece();
-			}
-		}
-		
-		Tile kingTile = board.findKing(this, false);
-		King king = (King)kingTile.getPiece();
-		if (king.determineCheck(king, board.getBoard(), kingTile)) {
-			tiles[0].setPiece(tile0OrigPiece);
-			tiles[1].setPiece(tile1OrigPiece);
-			return true;
-		} else {
-			tiles[0].setPiece(tile0OrigPiece);
-			tiles[1].setPiece(tile1OrigPiece);
-			return false;
+	 * @param board is the {@link ChessBoard}.
+	 * @param square is the square this is on.
+	 * @param moves is the {@link MoveList} the moves are added to.
+	 * @param captures is {@code true} to add captures and promotions.
+	 * @param quiets is {@code true} to add every other move.
+	 */
+	public void generate(ChessBoard board, int square, MoveList moves, boolean captures, boolean quiets) {
+		Bitboard bitboard = board.getBitboard();
+		long occupied = bitboard.getOccupied(), enemies = bitboard.getPieces(this.pieceColor.opposite());
+		long targets = this.getAttacks(square, occupied) & ((captures ? enemies : 0) | (quiets ? ~occupied : 0));
+		for (; targets != 0; targets &= targets - 1) {
+			int to = Long.numberOfTrailingZeros(targets);
+			moves.add(Move.create(square, to, (enemies & 1L << to) != 0 ? Move.capture : 0));
 		}
 	}
 	
-	@Override
-	public abstract boolean equals(Object obj);
+	/**
+	 * Determine if this making {@code move} is a legal move.<br>
+	 * This never changes this or {@code board}; see {@link #commit(Tile[][], int)}.
+	 * 
+	 * @param board is the board.
+	 * @param move is the {@link Move}.
+	 * 
+	 * @return	{@code true} if a move is legal.<br>
+	 * 			{@code false} if move is illegal.<br>
+	 */
+	public abstract boolean getLegal(Tile[][] board, int move);
 	
 	/**
 	 * Determine if this moving from {@code tiles[0]} to {@code tiles[1]} is a legal move.
@@ -172,9 +115,24 @@ public abstract class Piece {
 	 * 			{@code false} if move is illegal.<br>
 	 *  
 	 * @throws	IllegalArgumentException if tiles does not have 2 elements.
+	 * 
+	 * @see #getLegal(Tile[][], int)
 	 */
-	public abstract boolean getLegal(Tile[][] board, Tile[] tiles) throws IllegalArgumentException;
+	public boolean getLegal(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
+		return this.getLegal(board, Piece.toMove(tiles));
+	}
 
+	/**
+	 * Get the squares this attacks from {@code square}.<br>
+	 * Attacks stop at the first occupied square, which is attacked whether it holds an ally or an enemy.
+	 * 
+	 * @param square is the square this is on.
+	 * @param occupied is the mask of every occupied square.
+	 * 
+	 * @return the mask of attacked squares.
+	 */
+	public abstract long getAttacks(int square, long occupied);
+	
 	/**
 	 * @return {@link #pieceColor}.
 	 */
@@ -182,6 +140,11 @@ public abstract class Piece {
 		return this.pieceColor;
 	}
 	
+	/**
+	 * @return the {@link PieceType} of this.
+	 */
+	public abstract PieceType getPieceType();
+	
 	/**
 	 * Get the value of this.
 	 * 
@@ -225,82 +188,25 @@ public abstract class Piece {
 		return PieceColor.White == this.pieceColor;
 	}
 	
-	/**
-	 * Determine if any {@code Piece} can <i>protect</i> the {@link King} from <b>check</b>
-	 * 
-	 * @param kingTile is the {@link Tile} the {@code King} is on.
-	 * @param board is the board.
-	 * @param tiles are the original and new position of {@code piece}. 
-	 * 
-	 * @return	{@code true} if a {@code piece} can <i>protect</i> the {@code King}. <br>
-	 * 			{@code false} if a {@code piece} cannot <i>protect</i> the {@code King}.
-	 */
-	public boolean protect(Tile kingTile, Tile[][] board, Tile[] tiles) {
-		Piece tempPiece;		//piece in the board
-		King king = (King)kingTile.getPiece();
-		Tile[] path = this.setTileCollide(board, new Tile[] {tiles[1], kingTile});
-		
-		//path is empty means that attacking piece is next to King
-		if (path.length == 0) return true;
-		
-		for (Tile[] row : board) {	//Find a piece
-			for (Tile tile : row) {
-				tempPiece = tile.getPiece();
-				if (tempPiece == null)			continue;
-				if (tempPiece instanceof King)	continue;
-				if (!tempPiece.isAlly(king))	continue;
-				for (Tile tileCheck : path) {
-					//determine if an ally can move into this path
-					if (!tempPiece.getLegal(board, new Tile[] {tile, tileCheck})) continue;
-					if (!Piece.collide(tempPiece.setTileCollide(board, new Tile[] {tileCheck, kingTile}))) return true;
-				}
-			}
-		} return false;
-	}
-	
-	/**
-	 * Determine if {@code piece} moves to <i>protect</i> the {@link King} from <b>check</b>.
-	 * 
-	 * @param board is the board.
-	 * @param tiles are the original and new positions of {@code piece}.
-	 * 
-	 * @return	{@code true} if {@code Piece} moves to <i>protect</i> the {@code King}.<br>
-	 * 			{@code false} if {@code Piece} does not moves to <i>protect</i> the {@code King}.
-	 */
-	public boolean protecting(ChessBoard board, Tile[] tiles) {
-		Tile[][] b = board.getBoard();
-		//A non-King piece does the protecting
-		if (!(this instanceof King)) {
-			Tile[] tilesCollide = this.setTileCollide(b, new Tile[]{tiles[1], board.findKing(this, false)});
-			for (Tile tile : tilesCollide) {
-				if (this.getLegal(b, new Tile[]{tiles[1], tile})) return true;
-			} return false;
-		}
-		
-		/** 
-		 * The {@code King} can always protect itself
-		 * Determination if new location is safe is done elseware
-		 * @see ChessBoard#kingHasBeenCheck(Piece, Tiles[])
-		 */
-		return true;
-	}
-	
 	/**
 	 * Makes all attributes, if any, to their default values.
 	 */
 	public abstract void reset();
 	
 	/**
-	 * Determine all {@link Tile} from {@code tiles[0]} to {@code tiles[1]} that this travels over in its journey.
+	 * Convert the original and new positions of a {@code Piece} to a {@link Move}.
 	 * 
-	 * @param board is the board.
-	 * @param tiles are the original and new position of the this.
+	 * @param tiles are the original and new positions of a {@code Piece}.
 	 * 
-	 * @return	an Array of {@code Tile} that this will take along its journey.
+	 * @return the {@code Move} from {@code tiles[0]} to {@code tiles[1]}.
 	 * 
 	 * @throws	IllegalArgumentException if {@code tiles} does not have 2 elements.
 	 */
-	public abstract Tile[] setTileCollide(Tile[][] board, Tile[] tiles) throws IllegalArgumentException;
+	protected static int toMove(Tile[] tiles) throws IllegalArgumentException {
+		Objects.requireNonNull(tiles, "Piece must move.");
+		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles.");
+		return Move.create(tiles[0].getIndex(), tiles[1].getIndex());
+	}
 
 	@Override
 	public abstract String toString();
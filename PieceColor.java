@@ -1,15 +1,15 @@
-import java.awt.Color;
-
 /**
- * An enumerated type the helps determine the color of each {@link Piece}.
+ * An enumerated type the helps determine the color of each {@link Piece}.<br>
+ * How each is drawn is up to the view; see {@link TileButton}.
  */
 public enum PieceColor {
-	White(new Color(0xd3d3d3)),
-	Black(new Color(0x2c2c2c));
+	White,
+	Black;
 	
-	public final Color color;
-	
-	private PieceColor(Color color) {
-		this.color = color;
+	/**
+	 * @return the other {@code PieceColor}.
+	 */
+	public PieceColor opposite() {
+		return this == White ? Black : White;
 	}
 }
\ No newline at end of file
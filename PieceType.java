@@ -0,0 +1,35 @@
+/**
+ * An enumerated type the helps determine the kind of each {@link Piece}.
+ */
+public enum PieceType {
+	Pawn,
+	Knight,
+	Bishop,
+	Rook,
+	Queen,
+	King;
+	
+	/**
+	 * Create a new {@link Piece} of this type.
+	 * 
+	 * @param color is the {@link PieceColor} of the new {@code Piece}.
+	 * 
+	 * @return the new {@code Piece}.
+	 */
+	public Piece create(PieceColor color) {
+		switch (this) {
+		case Pawn:
+			return new Pawn(color);
+		case Knight:
+			return new Knight(color);
+		case Bishop:
+			return new Bishop(color);
+		case Rook:
+			return new Rook(color);
+		case Queen:
+			return new Queen(color);
+		default:
+			return new King(color);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+import java.util.Objects;
+
+/**
+ * The {@code Ponder} class thinks on the opponent's time (<i>pondering</i>).
+ * <p>Once the engine has made its move, the {@link ParallelSearch} expects a reply, the second move of its principal variation.
+ * {@link #start(String, int, int)} makes that reply on a {@link ChessBoard} of its own and searches the position after it
+ * in the background, with no limit, filling the {@link TranspositionTable} it shares with the engine.</p>
+ * <p>When the opponent moves, {@link #play(int, TimeManager)} is told the move. If it is the expected reply (a <i>ponder hit</i>),
+ * the search carries on from where it is, now within the limits of the {@link TimeManager}, and its move is played;
+ * the time spent pondering is time the engine need not spend. Otherwise the search is stopped, and the engine searches the
+ * position it is in, helped by whatever the table already holds.</p>
+ * <p>{@link Uci} ponders with this for {@code go ponder}, {@code ponderhit} and {@code stop}.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Ponder {
+	/**
+	 * The {@link ChessBoard} the expected reply is made on.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * The {@link ParallelSearch} of {@link #board}.
+	 */
+	private final ParallelSearch search;
+
+	/**
+	 * The thread searching, or {@code null} when not pondering.
+	 */
+	private Thread thread;
+
+	/**
+	 * The reply expected, or {@link Move#none} when not pondering.
+	 */
+	private int expected;
+
+	/**
+	 * The move found by the search.
+	 */
+	private volatile int move;
+
+	/**
+	 * Create a {@code Ponder} with {@code threads} threads.
+	 *
+	 * @param table is the {@link TranspositionTable} shared with the engine.
+	 * @param threads is the number of threads, at least {@code 1}.
+	 *
+	 * @throws IllegalArgumentException if {@code threads} is less than {@code 1}.
+	 * @throws NullPointerException if {@code table} is {@code null}.
+	 */
+	public Ponder(TranspositionTable table, int threads) throws IllegalArgumentException, NullPointerException {
+		this.board		= new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+		this.search		= new ParallelSearch(this.board, table, threads);
+		this.expected	= Move.none;
+	}
+
+	/**
+	 * @return	the reply being pondered.<br>
+	 * 			{@link Move#none} when not pondering.
+	 */
+	public int getExpected() {
+		return this.expected;
+	}
+
+	/**
+	 * @return the {@link ParallelSearch} that ponders, to change its {@link SearchOptions} or {@link SearchListener} while not pondering.
+	 */
+	public ParallelSearch getSearch() {
+		return this.search;
+	}
+
+	/**
+	 * @return	{@code true} if a reply is being pondered.<br>
+	 * 			{@code false} otherwise.
+	 */
+	public boolean isPondering() {
+		return this.thread != null;
+	}
+
+	/**
+	 * Wait for the search to end.
+	 */
+	private void join() {
+		try {
+			this.thread.join();
+		} catch (InterruptedException ie) {
+			this.search.stop();
+			Thread.currentThread().interrupt();
+		} this.thread	= null;
+		this.expected	= Move.none;
+	}
+
+	/**
+	 * Tell the {@code Ponder} that the opponent made {@code move}.<br>
+	 * On a ponder hit this waits for the search, which stops within the limits of {@code time};
+	 * otherwise the search is stopped at once.
+	 *
+	 * @param move is the opponent's {@link Move}.
+	 * @param time is the {@link TimeManager}, started with {@link TimeManager#start(long, long, int)} when {@code move} was made.
+	 *
+	 * @return	the best {@code Move} after {@code move} on a ponder hit, recorded with {@link TimeManager#finish()}.<br>
+	 * 			{@link Move#none} on a miss, or when not pondering.
+	 */
+	public int play(int move, TimeManager time) {
+		boolean hit = this.isPondering() && move == this.expected;
+		int best = this.play(move, time.getSoftDeadline(), time.getHardDeadline());
+		if (hit) time.finish();
+		return best;
+	}
+
+	/**
+	 * Tell the {@code Ponder} that the opponent made {@code move}.<br>
+	 * On a ponder hit this waits for the search, which stops by the deadlines;
+	 * otherwise the search is stopped at once.
+	 *
+	 * @param move is the opponent's {@link Move}.
+	 * @param softDeadline is the {@link System#nanoTime()} after which no new iteration starts, or {@link Long#MAX_VALUE}.
+	 * @param deadline is the {@code System.nanoTime()} the search must stop by, or {@code Long.MAX_VALUE} to search until {@link #stop()}.
+	 *
+	 * @return	the best {@code Move} after {@code move} on a ponder hit.<br>
+	 * 			{@link Move#none} on a miss, or when not pondering.
+	 */
+	public int play(int move, long softDeadline, long deadline) {
+		if (!this.isPondering()) return Move.none;
+		if (move != this.expected) {
+			this.stop();
+			return Move.none;
+		}
+
+		this.search.setDeadlines(softDeadline, deadline);
+		this.join();
+		return this.move;
+	}
+
+	/**
+	 * Stop the helper threads of the search; see {@link ParallelSearch#shutdown()}.
+	 * This {@code Ponder} cannot ponder after this.
+	 */
+	public void shutdown() {
+		this.stop();
+		this.search.shutdown();
+	}
+
+	/**
+	 * Start pondering {@code expected} in the background, stopping any pondering before.
+	 *
+	 * @param position is the position after the engine's move, in <i>Forsyth-Edwards Notation</i>.
+	 * @param expected is the reply expected, such as the second move of the engine's principal variation.
+	 * @param depth is the deepest search, from {@code 1} to {@link Search#maxDepth}.
+	 *
+	 * @throws IllegalArgumentException if {@code position} is not a position, {@code expected} is not legal in it or {@code depth} is out of range.
+	 */
+	public void start(String position, int expected, int depth) throws IllegalArgumentException {
+		if (depth < 1 || depth > Search.maxDepth) throw new IllegalArgumentException("Illegal depth: " + depth);
+		this.stop();
+		this.board.setPosition(position);
+		if (expected == Move.none || expected != this.board.createMove(Move.getFrom(expected), Move.getTo(expected), Move.getPromotion(expected))
+				|| !this.board.isLegal(expected)) {
+			throw new IllegalArgumentException("Illegal move: " + Move.toString(expected));
+		} this.board.makeMove(expected);
+
+		//Stopped only by stop() or a ponder hit
+		this.search.prepare(Long.MAX_VALUE, Long.MAX_VALUE);
+		this.expected	= expected;
+		this.move		= Move.none;
+		this.thread		= new Thread(() -> this.move = this.search.bestMove(depth), "Ponder");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Stop pondering, and wait for the search to end.
+	 *
+	 * @return	the best {@link Move} after the reply that was found before the search stopped.<br>
+	 * 			{@link Move#none} when not pondering.
+	 */
+	public int stop() {
+		if (!this.isPondering()) return Move.none;
+		this.search.stop();
+		this.join();
+		return this.move;
+	}
+}
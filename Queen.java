@@ -1,5 +1,3 @@
-import java.util.Objects;
-
 /**
  * This {@code Queen} class represents a Queen in the game of Chess. <br>
  * This is a subclass of {@link Piece}
@@ -9,16 +7,6 @@ import java.util.Objects;
  *
  */
 public class Queen extends Piece {
-	/**
-	 * {@link Bishop} to help with {@link #getLegal(Tile[][], Tile[])} and {@link #setTileCollide(Tile[][], Tile[])}
-	 */
-	private final Bishop bishop;
-	
-	/**
-	 * {@link Rook} to help with {@link #getLegal(Tile[][], Tile[])} and {@link #setTileCollide(Tile[][], Tile[])}
-	 */
-	private final Rook rook;
-
 	/**
 	 * Creates a {@code Queen} that is {@code color}.
 	 * 
@@ -26,30 +14,35 @@ public class Queen extends Piece {
 	 */
 	public Queen(PieceColor color) {
 		super(color);
-		this.bishop = new Bishop(color);
-		this.rook = new Rook(color);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)								return true;
 		if (!(obj instanceof Queen))					return false;
-		Queen other = (Queen) obj;
-		if (bishop == null) if (other.bishop != null)	return false;
-		else if (!bishop.equals(other.bishop))			return false;
-		if (rook == null) if (other.rook != null)		return false;
-		else if (!rook.equals(other.rook))				return false;
 		return true;
 	}
 
 	/**
-	 * <p>Determine if move {@code Queen} makes from {@code tiles[0]} to {@code tiles[1]} is legal. </p>
+	 * {@code Queen} attacks like both a {@link Rook} and a {@link Bishop}.
+	 */
+	@Override
+	public long getAttacks(int square, long occupied) {
+		return Attacks.queen(square, occupied);
+	}
+
+	/**
+	 * <p>Determine if move {@code Queen} makes with {@code move} is legal. </p>
 	 * <p>{@code Queen} may move in any direction for any number of {@link Tile}.</p>
 	 */
 	@Override
-	public boolean getLegal(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		Objects.requireNonNull(tiles, "Queen must move.");
-		return this.rook.getLegal(board, tiles) || this.bishop.getLegal(board, tiles);
+	public boolean getLegal(Tile[][] board, int move) {
+		return (Attacks.queen(Move.getFrom(move), 0L) & 1L << Move.getTo(move)) != 0;
+	}
+
+	@Override
+	public PieceType getPieceType() {
+		return PieceType.Queen;
 	}
 
 	@Override
@@ -59,24 +52,15 @@ public class Queen extends Piece {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
+		int prime = 31;
 		int result = 1;
-		result = prime * result + ((bishop == null) ? 0 : bishop.hashCode());
-		result = prime * result + ((rook == null) ? 0 : rook.hashCode());
+		result = prime * result + pieceColor.hashCode();
+		result = prime * result + 9;
 		return result;
 	}
 
 	public void reset() {}
 	
-	@Override
-	public Tile[] setTileCollide(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		//Queen moves like Bishop
-		if (this.bishop.getLegal(board, tiles))		return this.bishop.setTileCollide(board, tiles);
-		//Queen moves like Rook
-		else if (this.rook.getLegal(board, tiles))	return this.rook.setTileCollide(board, tiles);
-		throw new IllegalStateException("Queen cannot move like this.");
-	}
-
 	@Override
 	public String toString() {
 		switch (this.pieceColor) {
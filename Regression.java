@@ -0,0 +1,352 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code Regression} class checks the rules against results known to be right, so a change that breaks them is found at once.
+ * <p>It counts the positions of the standard <i>perft</i> positions, whose counts are published, with and without a {@link Perft.Table}.
+ * A wrong count means {@link ChessBoard#generateLegal(MoveList)}, {@link ChessBoard#makeMove(int)} or {@link ChessBoard#unmakeMove()}
+ * no longer agree with the rules; {@link Perft} can then divide the count to find the move at fault.</p>
+ * <p>It also reads and writes positions in <i>Forsyth-Edwards Notation</i> with {@link ChessBoard#setPosition(String)} and
+ * {@link ChessBoard#getPosition()}, which must give back the same position, and must leave the board as it was if it is not legal.
+ * Every move of the perft positions must be read back from its <i>Standard Algebraic Notation</i> by {@link San}, and games
+ * written by {@link PgnWriter} must be read back by {@link PgnReader} as they were. {@link Uci} must refuse a {@code position}
+ * that is not legal, keep the position before it and reply to {@code go} with a legal {@code bestmove}.</p>
+ * <p>Usage: {@code java Regression}. Every failed check is printed, and the exit status is the number of failures.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Regression {
+	/**
+	 * The standard perft positions, each with its depth and number of positions.
+	 */
+	private static final Object[][] perft = {
+		{ChessBoard.startPosition,											5, 4_865_609L},
+		{"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",	3, 97_862L},
+		{"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",						5, 674_624L},
+		{"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",	4, 422_333L},
+		{"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",		4, 2_103_487L},
+	};
+
+	/**
+	 * Positions that must be written exactly as they were read.
+	 */
+	private static final String[] positions = {
+		"rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2",
+		"rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+		"4k3/8/8/8/3pP3/8/8/4K3 b - e3 0 40",
+		"r3k2r/8/8/8/8/8/8/R3K2R b Kq - 17 63",
+		"8/8/8/8/8/8/8/k1K5 w - - 99 200",
+	};
+
+	/**
+	 * Positions that are not legal, and must leave the board as it was.
+	 */
+	private static final String[] illegalPositions = {
+		"8/8/8/8/8/8/8/8 w - - 0 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBN w KQkq - 0 1",
+		"rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR/8 w KQkq - 0 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQxq - 0 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e3 0 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - -1 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 0",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 1",
+		"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w",
+		"4k3/8/8/8/8/8/8/4R1K1 w - - 0 1",
+		"P3k3/8/8/8/8/8/8/4K3 w - - 0 1",
+		"4k3/8/8/8/8/8/8/3pK3 b - - 0 1",
+	};
+
+	/**
+	 * Moves and how they are written in <i>Standard Algebraic Notation</i>, each with the position it is made in.
+	 */
+	private static final String[][] sans = {
+		{ChessBoard.startPosition,																"e2e4",		"e4"},
+		{"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",				"e1g1",		"O-O"},
+		{"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",				"e1c1",		"O-O-O"},
+		{"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",				"e2a6",		"Bxa6"},
+		{"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",							"d7c8n",	"dxc8=N"},
+		{"rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b KQkq - 0 2",						"d8h4",		"Qh4#"},
+		{"4k3/8/8/8/8/8/4K3/R6R w - - 0 1",													"a1d1",		"Rad1"},
+		{"4k3/8/8/N7/8/8/8/N3K3 w - - 0 1",													"a1b3",		"N1b3"},
+	};
+
+	/**
+	 * A game with a comment, a variation and an annotation, which are skipped, and the position after it.
+	 */
+	private static final String[] annotated = {
+		"[Event \"Regression\"]\n\n1. e4 {The King's Pawn} e5 (1... c5 2. Nf3) 2. Nf3 $1 Nc6 3. Bb5 a6 *\n",
+		"r1bqkbnr/1ppp1ppp/p1n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 0 4",
+	};
+
+	/**
+	 * The number of checks that failed.
+	 */
+	private static int failures;
+
+	/**
+	 * {@code Regression} only has static methods.
+	 */
+	private Regression() {}
+
+	/**
+	 * Record a check, printing it if it failed.
+	 *
+	 * @param passed is {@code true} if the check passed.
+	 * @param name is what was checked.
+	 * @param expected is the result expected.
+	 * @param actual is the result found.
+	 */
+	private static void check(boolean passed, String name, Object expected, Object actual) {
+		if (passed) return;
+		failures++;
+		System.out.println("FAILED " + name + ": expected " + expected + " but was " + actual);
+	}
+
+	/**
+	 * Check {@code expected} and {@code actual} are equal.
+	 *
+	 * @param name is what was checked.
+	 * @param expected is the result expected.
+	 * @param actual is the result found.
+	 */
+	private static void checkEquals(String name, Object expected, Object actual) {
+		check(expected.equals(actual), name, expected, actual);
+	}
+
+	/**
+	 * Count the positions of every standard perft position, once with no table and once with a {@link Perft.Table}.
+	 */
+	private static void perft() {
+		Perft.Table table = new Perft.Table(16);
+		for (Object[] position : perft) {
+			String fen = (String)position[0];
+			int depth = (Integer)position[1];
+			checkEquals("perft " + depth + " " + fen, position[2], new Perft(fen, depth, null).count(depth));
+			checkEquals("perft " + depth + " with table " + fen, position[2], new Perft(fen, depth, table).count(depth));
+		}
+	}
+
+	/**
+	 * Create a {@link ChessBoard} with two {@link Player}.
+	 *
+	 * @return the {@code ChessBoard}.
+	 */
+	private static ChessBoard createBoard() {
+		return new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+	}
+
+	/**
+	 * Read and write positions in <i>Forsyth-Edwards Notation</i>: every position must be written as it was read,
+	 * the move clocks must count moves made and taken back, and a position that is not legal must change nothing.
+	 */
+	private static void fen() {
+		ChessBoard board = createBoard();
+		for (Object[] position : perft) {
+			board.setPosition((String)position[0]);
+			checkEquals("fen " + position[0], position[0], board.getPosition());
+		} for (String position : positions) {
+			board.setPosition(position);
+			checkEquals("fen " + position, position, board.getPosition());
+		}
+
+		board.setPosition(ChessBoard.startPosition);
+		String[] moves = {"e2e4", "c7c5", "g1f3", "d7d6"};
+		for (String move : moves) {
+			board.makeMove(board.parseMove(move));
+		} String after = "rnbqkbnr/pp2pppp/3p4/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 0 3";
+		checkEquals("fen after " + String.join(" ", moves), after, board.getPosition());
+		board.unmakeMove();
+		checkEquals("fen after unmakeMove", "rnbqkbnr/pp1ppppp/8/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2", board.getPosition());
+		board.setPosition(after);
+		checkEquals("fen read again", after, board.getPosition());
+
+		//Equal positions, however they were reached, are equal and hash alike; others are not equal
+		ChessBoard other = createBoard();
+		other.setPosition(ChessBoard.startPosition);
+		for (String move : new String[] {"g1f3", "d7d6", "e2e4", "c7c5"}) {
+			other.makeMove(other.parseMove(move));
+		} check(board.equals(other) && board.hashCode() == other.hashCode(), "equals after a transposition", "equal", "not equal");
+		other.setPosition("rnbqkbnr/pp2pppp/3p4/2p5/4P3/5N2/PPPP1PPP/RNBQKBR1 w Qkq - 0 3");
+		check(!board.equals(other), "equals with a different piece", "not equal", "equal");
+
+		for (String position : illegalPositions) {
+			boolean thrown = false;
+			try {
+				board.setPosition(position);
+			} catch (IllegalArgumentException iae) {
+				thrown = true;
+			} check(thrown, "illegal fen " + position, "IllegalArgumentException", "none");
+			checkEquals("fen kept after " + position, after, board.getPosition());
+		}
+
+		//Moves made by clicking Tile go on past the undo stack
+		board.setPosition(ChessBoard.startPosition);
+		int[] squares = {62, 45, 6, 21, 45, 62, 21, 6};
+		try {
+			for (int ply = 0; ply < ChessBoard.maxPly + 4; ply++) {
+				board.movePiece(board.getTile(squares[2 * (ply % 4)]));
+				board.movePiece(board.getTile(squares[2 * (ply % 4) + 1]));
+			} checkEquals("fen after " + (ChessBoard.maxPly + 4) + " clicked moves", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 1028 515", board.getPosition());
+		} catch (RuntimeException re) {
+			check(false, "clicked moves past the undo stack", "none", re);
+		}
+	}
+
+	/**
+	 * Write every legal move of the perft positions in <i>Standard Algebraic Notation</i> and read it back,
+	 * and check how some moves are written.
+	 */
+	private static void san() {
+		ChessBoard board = createBoard();
+		MoveList moves = new MoveList();
+		for (Object[] position : perft) {
+			board.setPosition((String)position[0]);
+			moves.clear();
+			board.generateLegal(moves);
+			for (int i = 0; i < moves.size(); i++) {
+				int move = moves.get(i);
+				String san = San.toString(board, move);
+				try {
+					checkEquals("san " + san + " in " + position[0], Move.toString(move), Move.toString(San.parse(board, san)));
+				} catch (IllegalArgumentException iae) {
+					check(false, "san " + san + " in " + position[0], Move.toString(move), iae.getMessage());
+				}
+			}
+		} for (String[] san : sans) {
+			board.setPosition(san[0]);
+			checkEquals("san of " + san[1] + " in " + san[0], san[2], San.toString(board, board.parseMove(san[1])));
+		}
+	}
+
+	/**
+	 * Write games with {@link PgnWriter} and read them back with {@link PgnReader}: the position, moves, result and tags
+	 * must be as written, and writing them again must give the same text. An annotated game must be read without its annotations.
+	 *
+	 * @throws IOException if a game cannot be written or read.
+	 */
+	private static void pgn() throws IOException {
+		ChessBoard board = createBoard();
+		PgnGame[] games = new PgnGame[2];
+		board.setPosition(ChessBoard.startPosition);
+		for (String move : new String[] {"f2f3", "e7e5", "g2g4", "d8h4"}) {
+			board.makeMove(board.parseMove(move));
+		} games[0] = new PgnGame(board);
+		games[0].setTag("Event", "Fool's mate");
+		board.setPosition((String)perft[4][0]);
+		for (String move : new String[] {"d7c8q", "d8c8", "e1g1", "f2d1", "c4f7"}) {
+			board.makeMove(board.parseMove(move));
+		} games[1] = new PgnGame(board);
+		games[1].setTag("Annotator", "Regression");
+		checkEquals("pgn result of mate", "0-1", games[0].getResult());
+
+		String text = write(games);
+		PgnGame[] read = new PgnGame[games.length];
+		PgnGame game = new PgnGame();
+		try (PgnReader reader = read(text)) {
+			for (int i = 0; i < games.length; i++) {
+				PgnGame written = games[i];
+				game = read[i] = new PgnGame();
+				check(reader.read(game), "pgn game read", "a game", "none");
+				checkEquals("pgn position", written.getPosition(), game.getPosition());
+				checkEquals("pgn result", written.getResult(), game.getResult());
+				checkEquals("pgn moves", written.size(), game.size());
+				for (int j = 0; j < Math.min(written.size(), game.size()); j++) {
+					checkEquals("pgn move " + j, Move.toString(written.getMove(j)), Move.toString(game.getMove(j)));
+				} for (String name : written.getTags().keySet()) {
+					checkEquals("pgn tag " + name, written.getTag(name), game.getTag(name));
+				}
+			} game = new PgnGame();
+			check(!reader.read(game), "pgn end", "no game", game);
+		} checkEquals("pgn written again", text, write(read));
+
+		try (PgnReader reader = read(annotated[0])) {
+			check(reader.read(game), "pgn annotated game read", "a game", "none");
+			game.replay(board);
+			checkEquals("pgn annotated game", annotated[1], board.getPosition());
+			checkEquals("pgn annotated tag", "Regression", game.getTag("Event"));
+		}
+	}
+
+	/**
+	 * Write {@code games} with a {@link PgnWriter}.
+	 *
+	 * @param games are the games.
+	 *
+	 * @return the text written.
+	 *
+	 * @throws IOException if a game cannot be written.
+	 */
+	private static String write(PgnGame... games) throws IOException {
+		StringWriter out = new StringWriter();
+		try (PgnWriter writer = new PgnWriter(out)) {
+			for (PgnGame game : games) {
+				writer.write(game);
+			}
+		} return out.toString();
+	}
+
+	/**
+	 * Create a {@link PgnReader} of {@code text}.
+	 *
+	 * @param text is the text of the games.
+	 *
+	 * @return the {@code PgnReader}.
+	 */
+	private static PgnReader read(String text) {
+		return new PgnReader(Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	/**
+	 * Send {@link Uci} positions that are not legal, or end in a move that is not legal, each followed by {@code go}:
+	 * each must be refused, and {@code bestmove} must be a legal move of the position before it.
+	 */
+	private static void uci() {
+		String before = "position startpos moves e2e4";
+		String[] refused = {
+			"position fen 4k3/8/8/8/8/8/8/4R1K1 w - - 0 1",
+			"position fen 8/8/8/8/8/8/8/8 w - - 0 1",
+			"position startpos moves e2e4 e7e5 e1e3",
+		};
+		ChessBoard board = createBoard();
+		for (String position : refused) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			Uci uci = new Uci(new PrintStream(bytes, true));
+			for (String command : new String[] {before, position, "go depth 3", "stop"}) {
+				uci.execute(command);
+			} uci.execute("quit");
+
+			String reply = bytes.toString(), move = null;
+			for (String line : reply.split("\n")) {
+				if (line.startsWith("bestmove ")) move = line.split(" ")[1];
+			} check(reply.contains("info string "), "uci refuses " + position, "info string", reply);
+			board.setPosition(ChessBoard.startPosition);
+			board.makeMove(board.parseMove("e2e4"));
+			boolean legal = false;
+			try {
+				legal = move != null && board.isLegal(board.parseMove(move));
+			} catch (IllegalArgumentException iae) {
+				legal = false;
+			} check(legal, "uci bestmove after " + position, "a legal move after e2e4", move);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		long start = System.nanoTime();
+		perft();
+		fen();
+		san();
+		pgn();
+		uci();
+		System.out.println((failures == 0 ? "All checks passed" : failures + " checks failed") + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+		System.exit(failures);
+	}
+}
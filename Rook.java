@@ -1,6 +1,3 @@
-import java.util.ArrayList;
-import java.util.Objects;
-
 /**
  * This {@code Rook} class represents a
  * Rook in the game of Chess. <br>
@@ -14,7 +11,7 @@ public class Rook extends Piece {
 	/**
 	 * A boolean determining if the {@code Rook} has moved.
 	 * 
-	 * @see King#castle(Piece, Tile[], ChessBoard)
+	 * @see ChessBoard#makeMove(int)
 	 */
 	private boolean	hasMoved;
 
@@ -28,6 +25,14 @@ public class Rook extends Piece {
 		this.hasMoved = false;
 	}
 
+	/**
+	 * Set {@link #hasMoved} once {@code Rook} moves.
+	 */
+	@Override
+	public void commit(Tile[][] board, int move) {
+		this.hasMoved = true;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)				return true;
@@ -37,30 +42,23 @@ public class Rook extends Piece {
 		return true;
 	}
 
-	/**
-	 * @see #getLegal(Tile[][], Tile[])
-	 * @param tiles	are the original and new positions of {@code Rook}.
-	 * @return true / false
-	 */
-	private boolean getLegal(Tile[] tiles) {
-		int oldX = tiles[0].getRow(), oldY = tiles[0].getColumn(), newX = tiles[1].getRow(), newY = tiles[1].getColumn();
-		return ((oldX - newX == 0) && (oldY != newY)) || ((oldX != newX) && (oldY - newY == 0));
+	@Override
+	public long getAttacks(int square, long occupied) {
+		return Attacks.rook(square, occupied);
 	}
 
 	/**
-	 * Determine if move {@code Rook} makes from {@code tiles[0]} to {@code tiles[1]} is legal. <br>
+	 * Determine if move {@code Rook} makes with {@code move} is legal. <br>
 	 * A {@code Rook} can move <b>horizantally</b> or <b>vertically</b>.
 	 */
 	@Override
-	public boolean getLegal(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		Objects.requireNonNull(tiles, "Rook must move.");
-		if (tiles.length != 2) throw new IllegalArgumentException("Illegal number of elements in tiles");
+	public boolean getLegal(Tile[][] board, int move) {
+		return (Attacks.rook(Move.getFrom(move), 0L) & 1L << Move.getTo(move)) != 0;
+	}
 
-		if (this.getLegal(tiles)) {
-			this.setHasMoved(true);
-			return true;
-		}
-		return false;
+	@Override
+	public PieceType getPieceType() {
+		return PieceType.Rook;
 	}
 
 	@Override
@@ -99,45 +97,6 @@ public class Rook extends Piece {
 		this.hasMoved = bool;
 	}
 
-	@Override
-	public Tile[] setTileCollide(Tile[][] board, Tile[] tiles) throws IllegalArgumentException {
-		ArrayList<Tile> temp = new ArrayList<Tile>();
-		int oldX = tiles[0].getRow(), oldY = tiles[0].getColumn(), newX = tiles[1].getRow(), newY = tiles[1].getColumn();
-
-		if (newX < oldX) {			//North
-			for (int row = oldX; row >= newX; row--) {
-				temp.add(board[row][oldY]);
-			}
-		} else if (newX > oldX) {	//South
-			for (int row = oldX; row <= newX; row++) {
-				temp.add(board[row][oldY]);
-			}
-		} else if (newY > oldY) {	//East
-			for (int col = oldY; col <= newY; col++) {
-				temp.add(board[oldX][col]);
-			}
-		} else {					//West
-			for (int col = oldY; col >= newY; col--) {
-				temp.add(board[oldX][col]);
-			}
-		}
-
-		//Cannot collide with self
-		temp.remove(board[oldX][oldY]);
-
-		/**Cannot collide when capturing*/
-		if (temp.get(temp.size() - 1).getPiece() != null) {
-			if (! this.isAlly(temp.get(temp.size() - 1).getPiece())) {
-				temp.remove(temp.size() - 1);
-			}
-		}
-
-		Tile[] t = new Tile[temp.size()];
-		for (int k = 0; k < t.length; k++) {
-			t[k] = temp.get(k);
-		} return t;
-	}
-
 	@Override
 	public String toString() {
 		switch (this.pieceColor) {
@@ -0,0 +1,239 @@
+/**
+ * The {@code San} class reads and writes moves in <i>Standard Algebraic Notation</i>, such as {@code Nbd7}, {@code exd6},
+ * {@code e8=Q+} or {@code O-O-O}, as <i>Portable Game Notation</i> files use; see {@link PgnReader} and {@link PgnWriter}.
+ * <p>A move names only the {@link PieceType} that moves and the square it moves to, plus as much of the square it moves from
+ * as tells it apart from the other legal moves. So a move is read by finding the {@link Piece} of that type that attack the square,
+ * from the masks of {@link Attacks}, and keeping the one that may move there; no move is generated.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class San {
+	/**
+	 * The letter of each {@link PieceType}, by ordinal; a {@link Pawn} has none.
+	 */
+	private static final String letters = " NBRQK";
+
+	/**
+	 * All {@link PieceType}, so {@link #parse(ChessBoard, CharSequence)} does not copy {@link PieceType#values()}.
+	 */
+	private static final PieceType[] types = PieceType.values();
+
+	/**
+	 * {@code San} only has static methods.
+	 */
+	private San() {}
+
+	/**
+	 * Write {@code move} in <i>Standard Algebraic Notation</i> to {@code str}, with {@code +} if it gives <b>check</b>
+	 * and {@code #} if it gives <b>check mate</b>.<br>
+	 * To find that, {@code move} is made and taken back on {@code board}, which is then as it was.
+	 *
+	 * @param board is the {@link ChessBoard} {@code move} is legal on.
+	 * @param move is the {@link Move}.
+	 * @param str is where the move is written.
+	 *
+	 * @return {@code str}.
+	 *
+	 * @throws IllegalArgumentException if {@code move} is not legal on {@code board}.
+	 */
+	public static StringBuilder append(ChessBoard board, int move, StringBuilder str) throws IllegalArgumentException {
+		if (move == Move.none || !board.isLegal(move)) throw new IllegalArgumentException("Illegal move: " + Move.toString(move));
+		int from = Move.getFrom(move), to = Move.getTo(move);
+		PieceType type = board.getTile(from).getPiece().getPieceType();
+
+		if (Move.isCastle(move)) str.append((to & 7) > (from & 7) ? "O-O" : "O-O-O");
+		else if (type == PieceType.Pawn) {
+			if (Move.isCapture(move)) str.append((char)('a' + (from & 7))).append('x');
+			appendSquare(str, to);
+			PieceType promotion = Move.getPromotion(move);
+			if (promotion != null) str.append('=').append(letters.charAt(promotion.ordinal()));
+		} else {
+			str.append(letters.charAt(type.ordinal()));
+
+			//Only as much of the square moved from as tells the move apart
+			long others = 0;
+			for (long candidates = findCandidates(board, type, to) & ~(1L << from); candidates != 0; candidates &= candidates - 1) {
+				int other = Long.numberOfTrailingZeros(candidates);
+				if (board.isLegal(board.createMove(other, to, null))) others |= 1L << other;
+			} if (others != 0) {
+				if ((others & file(from & 7)) == 0)			str.append((char)('a' + (from & 7)));
+				else if ((others & rank(from >>> 3)) == 0)	str.append((char)('8' - (from >>> 3)));
+				else										appendSquare(str, from);
+			}
+
+			if (Move.isCapture(move)) str.append('x');
+			appendSquare(str, to);
+		}
+
+		board.makeMove(move);
+		if (board.getCheckers() != 0) {
+			MoveList replies = new MoveList();
+			board.generateLegal(replies);
+			str.append(replies.size() == 0 ? '#' : '+');
+		} board.unmakeMove();
+		return str;
+	}
+
+	/**
+	 * Write the name of {@code square}, such as {@code e4}, to {@code str}.
+	 *
+	 * @param str is where the name is written.
+	 * @param square is the square.
+	 */
+	private static void appendSquare(StringBuilder str, int square) {
+		str.append((char)('a' + (square & 7))).append((char)('8' - (square >>> 3)));
+	}
+
+	/**
+	 * Get the mask of column {@code column}.
+	 *
+	 * @param column is the column, from {@code 0} to {@code 7}.
+	 *
+	 * @return the mask of every square of {@code column}.
+	 */
+	private static long file(int column) {
+		return 0x0101010101010101L << column;
+	}
+
+	/**
+	 * Find every {@link Piece} of the current {@link Player} that is {@code type} and could move to {@code to},
+	 * if it were not <i>pinned</i>. A {@link Pawn} is found if it could capture on {@code to}.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 * @param type is the {@link PieceType}.
+	 * @param to is the square moved to.
+	 *
+	 * @return the mask of the squares of every such {@code Piece}.
+	 */
+	private static long findCandidates(ChessBoard board, PieceType type, int to) {
+		Bitboard bitboard = board.getBitboard();
+		PieceColor color = board.getCurrentPlayer().getPlayerColor();
+		long occupied = bitboard.getOccupied(), attackers;
+		switch (type) {
+		case Pawn:
+			attackers = Attacks.pawn(color.opposite(), to);
+			break;
+		case Knight:
+			attackers = Attacks.knight(to);
+			break;
+		case Bishop:
+			attackers = Attacks.bishop(to, occupied);
+			break;
+		case Rook:
+			attackers = Attacks.rook(to, occupied);
+			break;
+		case Queen:
+			attackers = Attacks.queen(to, occupied);
+			break;
+		default:
+			attackers = Attacks.king(to);
+		} return attackers & bitboard.getPieces(color, type);
+	}
+
+	/**
+	 * Read {@code str} as a legal {@link Move} of the position on {@code board}, with the flags
+	 * {@link ChessBoard#createMove(int, int, PieceType)} gives it.<br>
+	 * Annotations such as {@code +}, {@code #}, {@code !} and {@code ?} are ignored, castling may be written with {@code 0}
+	 * and a {@link Pawn} reaching the last row without a promotion is promoted to a {@link Queen}.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 * @param str is the move, such as {@code Nbd7}.
+	 *
+	 * @return the {@code Move}.
+	 *
+	 * @throws IllegalArgumentException if {@code str} is not a move, is not legal or could be more than one legal move.
+	 */
+	public static int parse(ChessBoard board, CharSequence str) throws IllegalArgumentException {
+		int end = str.length();
+		while (end > 0 && "+#!?".indexOf(str.charAt(end - 1)) >= 0) end--;
+		if (end < 2) throw new IllegalArgumentException("Illegal move: " + str);
+		PieceColor color = board.getCurrentPlayer().getPlayerColor();
+
+		char first = str.charAt(0);
+		if (first == 'O' || first == '0') {	//Castling is a King moving two columns
+			int king = board.getBitboard().getKingSquare(color), length = end;
+			if (king == 64 || (length != 3 && length != 5)) throw new IllegalArgumentException("Illegal move: " + str);
+			for (int i = 0; i < length; i++) {
+				if (str.charAt(i) != (i % 2 == 0 ? first : '-')) throw new IllegalArgumentException("Illegal move: " + str);
+			} int move = board.createMove(king, length == 3 ? king + 2 : king - 2, null);
+			if (!Move.isCastle(move) || !board.isLegal(move)) throw new IllegalArgumentException("Illegal move: " + str);
+			return move;
+		}
+
+		int start = letters.indexOf(first), index = 0;
+		PieceType type = PieceType.Pawn, promotion = null;
+		if (start > 0) {
+			type	= types[start];
+			index	= 1;
+		} else if (end >= 3) {	//e8=Q, or e8Q
+			int letter = letters.indexOf(str.charAt(end - 1));
+			if (letter > 0 && letter < 5) {
+				promotion = types[letter];
+				end -= str.charAt(end - 2) == '=' ? 2 : 1;
+			}
+		}
+
+		if (end - index < 2) throw new IllegalArgumentException("Illegal move: " + str);
+		int column = str.charAt(end - 2) - 'a', row = '8' - str.charAt(end - 1);
+		if (column < 0 || column > 7 || row < 0 || row > 7) throw new IllegalArgumentException("Illegal move: " + str);
+		int to = row << 3 | column;
+		end -= 2;
+		boolean capture = end > index && (str.charAt(end - 1) == 'x' || str.charAt(end - 1) == ':');
+		if (capture) end--;
+
+		//What is given of the square moved from
+		long mask = -1L;
+		for (; index < end; index++) {
+			char c = str.charAt(index);
+			if (c >= 'a' && c <= 'h')		mask &= file(c - 'a');
+			else if (c >= '1' && c <= '8')	mask &= rank('8' - c);
+			else throw new IllegalArgumentException("Illegal move: " + str);
+		}
+
+		long candidates;
+		if (type == PieceType.Pawn && !capture) {	//A Pawn only moves forward onto an empty square
+			Bitboard bitboard = board.getBitboard();
+			int forward = color == PieceColor.White ? -8 : 8, single = to - forward, twice = single - forward;
+			candidates = single >= 0 && single < 64 ? 1L << single : 0;
+			if (!bitboard.isOccupied(candidates) && twice >= 0 && twice < 64) candidates = 1L << twice;
+			candidates &= bitboard.getPieces(color, PieceType.Pawn);
+		} else candidates = findCandidates(board, type, to);
+
+		int found = Move.none;
+		for (candidates &= mask; candidates != 0; candidates &= candidates - 1) {
+			int move = board.createMove(Long.numberOfTrailingZeros(candidates), to, promotion);
+			if (promotion != null && Move.getPromotion(move) != promotion) throw new IllegalArgumentException("Illegal move: " + str);
+			if (!board.isLegal(move)) continue;
+			if (found != Move.none) throw new IllegalArgumentException("Ambiguous move: " + str);
+			found = move;
+		} if (found == Move.none) throw new IllegalArgumentException("Illegal move: " + str);
+		return found;
+	}
+
+	/**
+	 * Get the mask of row {@code row}.
+	 *
+	 * @param row is the row, from {@code 0} to {@code 7}.
+	 *
+	 * @return the mask of every square of {@code row}.
+	 */
+	private static long rank(int row) {
+		return 0xFFL << (row << 3);
+	}
+
+	/**
+	 * Write {@code move} in <i>Standard Algebraic Notation</i>; see {@link #append(ChessBoard, int, StringBuilder)}.
+	 *
+	 * @param board is the {@link ChessBoard} {@code move} is legal on.
+	 * @param move is the {@link Move}.
+	 *
+	 * @return the move, such as {@code Nbd7}.
+	 *
+	 * @throws IllegalArgumentException if {@code move} is not legal on {@code board}.
+	 */
+	public static String toString(ChessBoard board, int move) throws IllegalArgumentException {
+		return append(board, move, new StringBuilder(8)).toString();
+	}
+}
@@ -0,0 +1,893 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The {@code Search} class chooses a move for the {@link Player} to move on a {@link ChessBoard}.
+ * <p>It looks ahead with a <i>negamax</i> search with <i>alpha-beta</i> pruning: the score of a position is the best
+ * of the negated scores of the positions after each move, and a move is not searched further once it is known
+ * that the opponent will not allow it. At the end of the search only captures are searched (<i>quiescence</i>),
+ * so a position is never scored in the middle of an exchange.
+ * A capture that loses material once every {@link Piece} attacking the square has joined in ({@link #see(int)}) is left out there,
+ * and tried after every other move in the rest of the search.</p>
+ * <p>The search is repeated one move deeper each time (<i>iterative deepening</i>) until the depth or time runs out.
+ * The <i>principal variation</i> of each search is tried first by the next, which makes the pruning much better.</p>
+ * <p>Moves are tried in the stages of a {@link MovePicker}. A quiet move that the opponent could not answer becomes a
+ * <i>killer</i> of its ply, tried early in every other position at that ply, and earns <i>history</i> for its {@link Piece}
+ * and square, which orders the other quiet moves. How often each stage ends the search of a position is counted; see {@link #getCutoffs()}.</p>
+ * <p>Moves that are unlikely to matter are searched less: with a narrow window after the first move, less deep when ordered late,
+ * or not at all when even passing the turn is good enough. Each of these can be turned off or tuned with {@link SearchOptions}.</p>
+ * <p>What is found about each position is kept in a {@link TranspositionTable}, if there is one.
+ * A position already searched deep enough is not searched again, and its best move is tried first otherwise.</p>
+ * <p>A position is scored by its material, the {@link Piece#getValue()} of every {@code Piece}, in hundredths of a {@link Pawn}.</p>
+ * <p>Usage: {@code java Search [-depth n] [-time milliseconds] [-clock milliseconds increment] [-nodes n] [-hash megabytes] [-threads n]
+ * [-nopvs] [-aspiration cp] [-null reduction verification] [-lmr reduction depth moves] [fen]}.
+ * More than one thread searches with a {@link ParallelSearch}. A reduction or window of {@code 0} turns it off.
+ * {@code -clock} gives the time left on the clock and its increment to a {@link TimeManager}.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Search {
+	/**
+	 * The score of giving <b>check mate</b> now. Giving it {@code n} moves later scores {@code mate - n}.
+	 */
+	public static final int mate		= 32000;
+
+	/**
+	 * A score greater than every other score.
+	 */
+	public static final int infinity	= 32001;
+
+	/**
+	 * The deepest search.
+	 */
+	public static final int maxDepth	= 64;
+
+	/**
+	 * The number of positions searched between looks at the clock, a power of two.
+	 */
+	public static final int pollNodes	= 256;
+
+	/**
+	 * The most moves looked ahead, including captures searched after {@link #maxDepth}.
+	 * The {@link ChessBoard} searched must have room for this many more moves; see {@link ChessBoard#maxPly}.
+	 */
+	public static final int maxPly		= 128;
+
+	/**
+	 * How many depths in a row each helper of a {@link ParallelSearch} searches and then skips, indexed by helper; see {@link #skips(int, int)}.
+	 */
+	private static final int[] skipSizes	= {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+
+	/**
+	 * How far into the pattern of {@link #skipSizes} each helper starts, indexed by helper.
+	 */
+	private static final int[] skipPhases	= {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+	/**
+	 * All {@link PieceType}, so {@link #evaluate()} does not copy {@link PieceType#values()}.
+	 */
+	private static final PieceType[] types = PieceType.values();
+
+	/**
+	 * The value of each {@link PieceType} in hundredths of a {@link Pawn}, from {@link Piece#getValue()}.<br>
+	 * A {@link King} has no value, as it is never captured.
+	 */
+	private static final int[] values = new int[types.length];
+
+	static {
+		for (PieceType type : types) try {
+			values[type.ordinal()] = 100 * type.create(PieceColor.White).getValue();
+		} catch (IllegalAccessException iae) {
+			values[type.ordinal()] = 0;
+		}
+	}
+
+	/**
+	 * The {@link ChessBoard} searched. It is left as it was found.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * The {@link TranspositionTable} shared with other searches, or {@code null}.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * A {@link MovePicker} for each ply, so searching allocates nothing.
+	 */
+	private final MovePicker[] pickers;
+
+	/**
+	 * The two killer moves of each ply, the latest first.
+	 */
+	private final int[][] killers;
+
+	/**
+	 * The history of each {@link Piece} moving to each square, indexed by {@link #historyIndex(Piece)}.
+	 */
+	private final int[][] history;
+
+	/**
+	 * The number of positions whose search was ended by a move of each stage of {@link MovePicker}.
+	 */
+	private final long[] cutoffs;
+
+	/**
+	 * The material won after each capture of {@link #see(int)}.
+	 */
+	private final int[] gains;
+
+	/**
+	 * The principal variation found at each ply, from that ply on.
+	 */
+	private final int[][] pv;
+
+	/**
+	 * The end of the principal variation at each ply in {@link #pv}.
+	 */
+	private final int[] pvLength;
+
+	/**
+	 * The {@link SearchListener} told about the search.
+	 */
+	private SearchListener listener;
+
+	/**
+	 * The {@link SearchOptions} searched with.
+	 */
+	private SearchOptions options;
+
+	/**
+	 * The principal variation of the last search to finish, tried first by the next.
+	 */
+	private int[] principalVariation;
+
+	/**
+	 * The number of positions searched.
+	 */
+	private long nodes;
+
+	/**
+	 * The depth of the deepest search that finished.
+	 */
+	private int depth;
+
+	/**
+	 * The score found by the deepest search that finished.
+	 */
+	private int score;
+
+	/**
+	 * The {@link System#nanoTime()} the search must stop by; see {@link #setDeadlines(long, long)}.
+	 */
+	private volatile long deadline;
+
+	/**
+	 * The {@link System#nanoTime()} after which no new iteration is started; see {@link #setDeadlines(long, long)}.
+	 */
+	private volatile long softDeadline;
+
+	/**
+	 * The number of positions the search must stop at.
+	 */
+	private long nodeLimit;
+
+	/**
+	 * {@code true} once the search must stop; see {@link #stop()}.
+	 */
+	private volatile boolean stopped;
+
+	/**
+	 * Create a {@code Search} of {@code board} without a {@link TranspositionTable}.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 *
+	 * @throws NullPointerException if {@code board} is {@code null}.
+	 */
+	public Search(ChessBoard board) throws NullPointerException {
+		this(board, null);
+	}
+
+	/**
+	 * Create a {@code Search} of {@code board}.
+	 *
+	 * @param board is the {@link ChessBoard}.
+	 * @param table is the {@link TranspositionTable}, or {@code null} to search without one.
+	 *
+	 * @throws NullPointerException if {@code board} is {@code null}.
+	 */
+	public Search(ChessBoard board, TranspositionTable table) throws NullPointerException {
+		this.board		= Objects.requireNonNull(board, "There must be a board to search.");
+		this.table		= table;
+		this.pickers	= new MovePicker[maxPly];
+		this.killers	= new int[maxPly][2];
+		this.history	= new int[2 * types.length][64];
+		this.cutoffs	= new long[MovePicker.stages];
+		this.gains		= new int[32];
+		this.pv			= new int[maxPly][maxPly];
+		this.pvLength	= new int[maxPly];
+		this.listener	= new SearchListener() {};
+		this.options	= new SearchOptions();
+		this.principalVariation = new int[0];
+		for (int i = 0; i < maxPly; i++) {
+			this.pickers[i] = new MovePicker(this, board, this.history);
+		}
+	}
+
+	/**
+	 * Find the best move for the {@link Player} to move, searching one move deeper at a time.<br>
+	 * The search stops after {@code depth}, once {@code milliseconds} have passed or when {@link #stop()} is called;
+	 * the move of the deepest search that finished is chosen.
+	 *
+	 * @param depth is the deepest search, from {@code 1} to {@link #maxDepth}.
+	 * @param milliseconds is the time allowed, or {@code 0} for no limit.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code depth} is out of range or {@code milliseconds} is negative.
+	 */
+	public int bestMove(int depth, long milliseconds) throws IllegalArgumentException {
+		if (milliseconds < 0) throw new IllegalArgumentException("Illegal time: " + milliseconds);
+		long deadline = milliseconds == 0 ? Long.MAX_VALUE : System.nanoTime() + milliseconds * 1_000_000;
+		if (this.table != null) this.table.newSearch();
+		this.stopped = false;
+		this.setDeadlines(deadline, deadline);
+		return this.iterate(0, depth);
+	}
+
+	/**
+	 * Find the best move for the {@link Player} to move within the limits of {@code time}, started with {@link TimeManager#start(long, long, int)}.<br>
+	 * No iteration is started after the soft limit, and the search stops at the hard limit; the move is then recorded with {@link TimeManager#finish()}.
+	 *
+	 * @param depth is the deepest search, from {@code 1} to {@link #maxDepth}.
+	 * @param time is the {@link TimeManager}.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code depth} is out of range.
+	 */
+	public int bestMove(int depth, TimeManager time) throws IllegalArgumentException {
+		if (this.table != null) this.table.newSearch();
+		this.stopped = false;
+		this.setDeadlines(time.getSoftDeadline(), time.getHardDeadline());
+		int move = this.iterate(0, depth);
+		time.finish();
+		return move;
+	}
+
+	/**
+	 * Find the best move for the {@link Player} to move, searching one move deeper at a time.<br>
+	 * A helper of a {@link ParallelSearch} skips some depths, each helper in its own pattern, so the threads do not all
+	 * search the same depth at once; see {@link #skips(int, int)}.
+	 * The public {@code bestMove} methods have their own names, so an {@code int} limit can never call this by mistake.
+	 * The age of the {@link TranspositionTable} is left alone, and a {@link #stop()} made before the search is kept; see {@link #clearStop()}.
+	 * The search keeps to the deadlines last given to {@link #setDeadlines(long, long)}, even if they are changed while it runs.
+	 * <p>An iteration that is stopped is thrown away and not reported. If the search is stopped before any iteration finishes,
+	 * the first legal move is chosen, with a depth and score of {@code 0}, so there is always a move to make.</p>
+	 *
+	 * @param helper is the number of the helper, or {@code 0} to search every depth.
+	 * @param depth is the deepest search, from {@code 1} to {@link #maxDepth}.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code helper} or {@code depth} is out of range.
+	 *
+	 * @see #bestMove(int, long)
+	 */
+	int iterate(int helper, int depth) throws IllegalArgumentException {
+		if (depth < 1 || depth > maxDepth)	throw new IllegalArgumentException("Illegal depth: " + depth);
+		if (helper < 0)						throw new IllegalArgumentException("Illegal helper: " + helper);
+		long start = System.nanoTime();
+		this.nodeLimit	= this.options.getNodes() == 0 ? Long.MAX_VALUE : this.options.getNodes();
+		this.nodes		= 0;
+		this.depth		= 0;
+		this.score		= 0;
+		this.principalVariation = new int[0];
+		Arrays.fill(this.cutoffs, 0);
+		for (int[] killers : this.killers) {
+			Arrays.fill(killers, Move.none);
+		}
+		this.ageHistory();
+
+		for (int d = 1; d <= depth; d++) {
+			if (d > 1 && d < depth && skips(helper, d)) continue;	//The first and last depths are always searched
+			int score = this.aspire(d);
+			if (this.stopped) break;	//The iteration did not finish, so its moves and score are not known
+			this.principalVariation = Arrays.copyOf(this.pv[0], this.pvLength[0]);
+			this.depth = d;
+			this.score = score;
+			this.listener.iterationDone(d, score, this.nodes, System.nanoTime() - start, this.principalVariation.clone());
+			if (this.stopped || this.principalVariation.length == 0 || Math.abs(score) >= mate - d) break;
+			if (System.nanoTime() > this.softDeadline) break;
+		} if (this.principalVariation.length > 0) return this.principalVariation[0];
+
+		//Stopped before any move was searched, or there is none
+		MoveList moves = new MoveList();
+		this.board.generateLegal(moves);
+		return moves.size() == 0 ? Move.none : moves.get(0);
+	}
+
+	/**
+	 * Determine if {@code helper} skips {@code depth}. Helper {@code n} searches {@link #skipSizes} depths in a row and then skips as many,
+	 * starting {@link #skipPhases} depths into the pattern, so at each depth some helpers search and others are already deeper.
+	 *
+	 * @param helper is the number of the helper, or {@code 0} for none.
+	 * @param depth is the depth.
+	 *
+	 * @return	{@code true} if {@code helper} skips {@code depth}.<br>
+	 * 			{@code false} otherwise, and always for {@code 0}.
+	 */
+	static boolean skips(int helper, int depth) {
+		if (helper == 0) return false;
+		int index = (helper - 1) % skipSizes.length;
+		return (depth + skipPhases[index]) / skipSizes[index] % 2 != 0;
+	}
+
+	/**
+	 * Search the root {@code depth} moves deep, expecting the score of the last iteration give or take {@link SearchOptions#getAspiration()}.
+	 * Each time the score falls outside, the window is made wider on that side and the root searched again.
+	 *
+	 * @param depth is the depth.
+	 *
+	 * @return the score of the root.
+	 */
+	private int aspire(int depth) {
+		int window = this.options.getAspiration();
+		if (window == 0 || this.depth == 0 || Math.abs(this.score) >= mate - maxPly) return this.negamax(depth, 0, -infinity, infinity, true);
+
+		int alpha = Math.max(this.score - window, -infinity), beta = Math.min(this.score + window, infinity);
+		while (true) {
+			int score = this.negamax(depth, 0, alpha, beta, true);
+			if (this.stopped)			return score;
+			if (score <= alpha)			alpha	= Math.max(score - window, -infinity);
+			else if (score >= beta)		beta	= Math.min(score + window, infinity);
+			else						return score;
+			window *= 2;
+		}
+	}
+
+	/**
+	 * Halve the history of every {@link Piece} and square, so history from older positions counts for less.
+	 */
+	private void ageHistory() {
+		for (int[] history : this.history) {
+			for (int i = 0; i < history.length; i++) {
+				history[i] >>= 1;
+			}
+		}
+	}
+
+	/**
+	 * Let the next search run, after {@link #stop()} ended the last, and count its positions from {@code 0}
+	 * even before it starts, as a {@link ParallelSearch} adds them up while its threads are starting.
+	 */
+	void clearStop() {
+		this.stopped	= false;
+		this.nodes		= 0;
+	}
+
+	/**
+	 * Find the best move in {@code fen} for the {@link Player} to move.
+	 *
+	 * @param fen is the position, in <i>Forsyth-Edwards Notation</i>.
+	 * @param depth is the deepest search, from {@code 1} to {@link #maxDepth}.
+	 * @param milliseconds is the time allowed, or {@code 0} for no limit.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is no legal move.
+	 *
+	 * @throws IllegalArgumentException if {@code fen} is not a position, or {@code depth} or {@code milliseconds} is out of range.
+	 *
+	 * @see #bestMove(int, long)
+	 */
+	public static int bestMove(String fen, int depth, long milliseconds) throws IllegalArgumentException {
+		ChessBoard board = new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+		board.setPosition(fen);
+		return new Search(board).bestMove(depth, milliseconds);
+	}
+
+	/**
+	 * Score the position for the {@link Player} to move by material.
+	 *
+	 * @return the score, in hundredths of a {@link Pawn}.
+	 */
+	public int evaluate() {
+		Bitboard bitboard = this.board.getBitboard();
+		PieceColor color = this.board.getCurrentPlayer().getPlayerColor(), opponent = color.opposite();
+		int score = 0;
+		for (PieceType type : types) {
+			score += values[type.ordinal()] * (Long.bitCount(bitboard.getPieces(color, type)) - Long.bitCount(bitboard.getPieces(opponent, type)));
+		} return score;
+	}
+
+	/**
+	 * @return the number of positions whose search was ended by a move of each stage of {@link MovePicker}, indexed by stage, in the last search.
+	 */
+	public long[] getCutoffs() {
+		return this.cutoffs.clone();
+	}
+
+	/**
+	 * @return the depth of the deepest search that finished.
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * @return the number of positions searched by the last search.
+	 */
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	/**
+	 * @return a copy of the {@link SearchOptions} searched with.
+	 */
+	public SearchOptions getOptions() {
+		return new SearchOptions(this.options);
+	}
+
+	/**
+	 * @return the principal variation of the deepest search that finished.
+	 */
+	public int[] getPrincipalVariation() {
+		return this.principalVariation.clone();
+	}
+
+	/**
+	 * @return the score found by the deepest search that finished, for the {@link Player} to move.
+	 */
+	public int getScore() {
+		return this.score;
+	}
+
+	/**
+	 * Find where the history of {@code piece} is kept.
+	 *
+	 * @param piece is the {@link Piece}.
+	 *
+	 * @return the index of {@code piece} in the history of a {@link Search}.
+	 */
+	static int historyIndex(Piece piece) {
+		return piece.getPieceColor().ordinal() * types.length + piece.getPieceType().ordinal();
+	}
+
+	/**
+	 * @param type is a {@link PieceType}.
+	 *
+	 * @return the value of {@code type} in hundredths of a {@link Pawn}; a {@link King} has none.
+	 */
+	static int value(PieceType type) {
+		return values[type.ordinal()];
+	}
+
+	/**
+	 * Determine if the current {@link Player} has a {@link Piece} other than {@link Pawn} and the {@link King}.<br>
+	 * A {@code Player} with only those may be in <i>zugzwang</i>, where passing the turn would be better than any move.
+	 *
+	 * @return	{@code true} if the current {@code Player} has such a {@code Piece}.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private boolean hasPieces() {
+		Bitboard bitboard = this.board.getBitboard();
+		PieceColor color = this.board.getCurrentPlayer().getPlayerColor();
+		return (bitboard.getPieces(color) & ~bitboard.getPieces(color, PieceType.Pawn) & ~bitboard.getPieces(color, PieceType.King)) != 0;
+	}
+
+	/**
+	 * Count a position searched, and stop the search once time or the positions allowed run out.
+	 *
+	 * @return	{@code true} if the search must stop.<br>
+	 * 			{@code false} otherwise.
+	 */
+	private boolean visit() {
+		if (++this.nodes >= this.nodeLimit || ((this.nodes & (pollNodes - 1)) == 0 && System.nanoTime() > this.deadline)) this.stopped = true;
+		return this.stopped;
+	}
+
+	/**
+	 * Search the position {@code depth} moves deep.
+	 *
+	 * @param depth is the number of moves left to search.
+	 * @param ply is the number of moves made since the search started.
+	 * @param alpha is the score the {@link Player} to move is already sure of.
+	 * @param beta is the score the opponent is already sure of, negated.
+	 * @param nullMove is {@code true} if passing the turn may be tried; it is not tried twice in a row.
+	 *
+	 * @return the score for the {@code Player} to move; only exact if it is between {@code alpha} and {@code beta}.
+	 */
+	private int negamax(int depth, int ply, int alpha, int beta, boolean nullMove) {
+		this.pvLength[ply] = ply;
+		if (depth <= 0)		return this.quiesce(ply, alpha, beta);
+		if (this.visit())	return 0;
+
+		//A position already searched deep enough need not be searched again, except at the root
+		long key = this.board.getKey();
+		int hashMove = Move.none;
+		if (this.table != null) {
+			long entry = this.table.probe(key);
+			if (entry != 0) {
+				hashMove = TranspositionTable.getMove(entry);
+				int score = fromTable(TranspositionTable.getScore(entry), ply), bound = TranspositionTable.getBound(entry);
+				if (ply > 0 && TranspositionTable.getDepth(entry) >= depth && (bound == TranspositionTable.exact
+						|| (bound == TranspositionTable.lower && score >= beta) || (bound == TranspositionTable.upper && score <= alpha))) {
+					return score;
+				}
+			}
+		}
+
+		if (ply >= maxPly - 1) return this.evaluate();
+		long checkers = this.board.getCheckers();
+
+		//If passing the turn is still good enough, so is the best move
+		int reduction = this.options.getNullReduction();
+		if (nullMove && reduction > 0 && ply > 0 && depth >= 2 && beta - alpha == 1 && checkers == 0
+				&& Math.abs(beta) < mate - maxPly && this.hasPieces() && this.evaluate() >= beta) {
+			this.board.makeNullMove();
+			int score = -this.negamax(depth - 1 - reduction, ply + 1, -beta, 1 - beta, false);
+			this.board.unmakeMove();
+			if (this.stopped) return 0;
+			if (score >= beta && depth >= this.options.getNullVerification()) {	//In case of zugzwang
+				score = this.negamax(depth - 1 - reduction, ply, beta - 1, beta, false);
+				if (this.stopped) return 0;
+			} if (score >= beta) return score >= mate - maxPly ? beta : score;
+		}
+
+		if (hashMove == Move.none && ply < this.principalVariation.length) hashMove = this.principalVariation[ply];
+		MovePicker picker = this.pickers[ply];
+		picker.reset(hashMove, this.killers[ply][0], this.killers[ply][1], false);
+		int best = -infinity, bestMove = Move.none, originalAlpha = alpha, searched = 0;
+		int lmr = this.options.getLmrReduction();
+		for (int move = picker.next(); move != Move.none; move = picker.next()) {
+			searched++;
+			this.board.makeMove(move);
+			int score, next = depth - 1;
+			if (searched == 1) score = -this.negamax(next, ply + 1, -beta, -alpha, true);
+			else {
+				//A late quiet move that does not give check is searched less deep
+				int reduce = 0;
+				if (lmr > 0 && depth >= this.options.getLmrDepth() && searched > this.options.getLmrMoves() && checkers == 0
+						&& picker.getStage() == MovePicker.quiets && this.board.getCheckers() == 0) {
+					reduce = Math.min(lmr, next - 1);
+				}
+
+				//Only prove the move is no better than alpha, and search it again in full if it is
+				int window = this.options.isPvs() || reduce > 0 ? alpha + 1 : beta;
+				score = -this.negamax(next - reduce, ply + 1, -window, -alpha, true);
+				if (score > alpha && reduce > 0)					score = -this.negamax(next, ply + 1, -window, -alpha, true);
+				if (score > alpha && score < beta && window != beta)	score = -this.negamax(next, ply + 1, -beta, -alpha, true);
+			} this.board.unmakeMove();
+			if (this.stopped) return 0;
+
+			if (score > best) {
+				best		= score;
+				bestMove	= move;
+			} if (score > alpha) {
+				alpha = score;
+				this.updatePv(ply, move);
+				if (alpha >= beta) {
+					this.cutoffs[picker.getStage()]++;
+					if (!Move.isCapture(move) && !Move.isPromotion(move)) this.updateKillers(ply, move, depth);
+					break;
+				}
+			}
+		} if (searched == 0) return checkers != 0 ? ply - mate : 0;
+
+		if (this.table != null) {
+			int bound = best >= beta ? TranspositionTable.lower : best > originalAlpha ? TranspositionTable.exact : TranspositionTable.upper;
+			this.table.store(key, bestMove, toTable(best, ply), depth, bound);
+		} return best;
+	}
+
+	/**
+	 * Undo {@link #toTable(int, int)}: make a score of <b>check mate</b> count from {@code ply}, not from the position.
+	 *
+	 * @param score is the score from a {@link TranspositionTable}.
+	 * @param ply is the ply of the position.
+	 *
+	 * @return the score.
+	 */
+	private static int fromTable(int score, int ply) {
+		if (score >= mate - maxPly)		return score - ply;
+		if (score <= maxPly - mate)		return score + ply;
+		return score;
+	}
+
+	/**
+	 * Search only captures and promotions until the position is quiet.<br>
+	 * The {@link Player} to move may always stop capturing, so the score is at least {@link #evaluate()}.
+	 * Quiet moves are only generated to tell <b>check mate</b>, so <b>stalemate</b> is not found here.
+	 *
+	 * @param ply is the number of moves made since the search started.
+	 * @param alpha is the score the {@code Player} to move is already sure of.
+	 * @param beta is the score the opponent is already sure of, negated.
+	 *
+	 * @return the score for the {@code Player} to move; only exact if it is between {@code alpha} and {@code beta}.
+	 */
+	private int quiesce(int ply, int alpha, int beta) {
+		if (this.visit()) return 0;
+
+		//Only promotions and captures that do not lose material
+		MovePicker picker = this.pickers[ply];
+		picker.reset(Move.none, Move.none, Move.none, true);
+		int move = picker.next();
+		if (move == Move.none && this.board.getCheckers() != 0 && !picker.hasMoves()) return ply - mate;
+		int best = this.evaluate();
+		if (ply >= maxPly - 1 || best >= beta) return best;
+		if (best > alpha) alpha = best;
+
+		for (; move != Move.none; move = picker.next()) {
+			this.board.makeMove(move);
+			int score = -this.quiesce(ply + 1, -beta, -alpha);
+			this.board.unmakeMove();
+			if (this.stopped) return 0;
+
+			if (score > best) best = score;
+			if (score > alpha) {
+				alpha = score;
+				if (alpha >= beta) break;
+			}
+		} return best;
+	}
+
+	/**
+	 * Find the material won by the capture {@code move} once every {@link Piece} attacking its square has joined in
+	 * (<i>Static Exchange Evaluation</i>).<br>
+	 * Each side recaptures with its least valuable {@code Piece}, and may stop whenever recapturing would lose more.
+	 * A {@link King} only recaptures once the other side has no attacker left. Pinned attackers are counted as free.
+	 *
+	 * @param move is the capture.
+	 *
+	 * @return the material won by the side making {@code move}, in hundredths of a {@link Pawn}; negative if it loses material.
+	 */
+	public int see(int move) {
+		Bitboard bitboard = this.board.getBitboard();
+		int from = Move.getFrom(move), to = Move.getTo(move), depth = 0;
+		Piece attacker = this.board.getTile(from).getPiece(), victim = this.board.getTile(to).getPiece();
+		long occupied = bitboard.getOccupied() ^ 1L << from;
+		int[] gains = this.gains;
+
+		gains[0] = victim == null ? 0 : values[victim.getPieceType().ordinal()];
+		int onSquare = values[attacker.getPieceType().ordinal()];
+		if (Move.isEnPassant(move)) {	//The captured Pawn is beside the Pawn moving
+			gains[0] = values[PieceType.Pawn.ordinal()];
+			occupied ^= 1L << ((from & ~7) | (to & 7));
+		} PieceType promotion = Move.getPromotion(move);
+		if (promotion != null) {
+			gains[0]	+= values[promotion.ordinal()] - values[PieceType.Pawn.ordinal()];
+			onSquare	= values[promotion.ordinal()];
+		}
+
+		PieceColor side = attacker.getPieceColor().opposite();
+		while (depth < gains.length - 1) {
+			long attackers = this.board.getAttackers(to, occupied), ours = attackers & bitboard.getPieces(side);
+			if (ours == 0) break;
+
+			//The least valuable attacker recaptures
+			PieceType type = PieceType.Pawn;
+			long least = 0;
+			for (PieceType t : types) {
+				least = ours & bitboard.getPieces(side, t);
+				if (least != 0) {
+					type = t;
+					break;
+				}
+			} if (type == PieceType.King && (attackers & bitboard.getPieces(side.opposite())) != 0) break;
+
+			depth++;
+			gains[depth] = onSquare - gains[depth - 1];
+			if (Math.max(-gains[depth - 1], gains[depth]) < 0) break;	//Neither side does better by going on
+			onSquare = values[type.ordinal()];
+			occupied ^= Long.lowestOneBit(least);
+			side = side.opposite();
+		}
+
+		for (; depth > 0; depth--) {
+			gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+		} return gains[0];
+	}
+
+	/**
+	 * Change when the search stops. This may be called from any thread, also while searching,
+	 * as when the opponent makes the move a search has been <i>pondering</i>; see {@link Ponder}.
+	 *
+	 * @param softDeadline is the {@link System#nanoTime()} after which no new iteration is started, or {@link Long#MAX_VALUE}.
+	 * @param deadline is the {@code System.nanoTime()} the search must stop by, or {@code Long.MAX_VALUE}.
+	 */
+	public void setDeadlines(long softDeadline, long deadline) {
+		this.softDeadline	= softDeadline;
+		this.deadline		= deadline;
+	}
+
+	/**
+	 * Change {@link #listener} to {@code listener}.
+	 *
+	 * @param listener is the new {@link SearchListener}.
+	 */
+	public void setListener(SearchListener listener) {
+		this.listener = Objects.requireNonNull(listener, "Search must have a listener.");
+	}
+
+	/**
+	 * Change the {@link SearchOptions} to a copy of {@code options}. This must not be called while searching.
+	 *
+	 * @param options is the new {@code SearchOptions}.
+	 *
+	 * @throws NullPointerException if {@code options} is {@code null}.
+	 */
+	public void setOptions(SearchOptions options) throws NullPointerException {
+		this.options = new SearchOptions(Objects.requireNonNull(options, "Search must have options."));
+	}
+
+	/**
+	 * Stop the search as soon as possible. This may be called from any thread.
+	 */
+	public void stop() {
+		this.stopped = true;
+	}
+
+	/**
+	 * Make a score of <b>check mate</b> count from the position at {@code ply}, not from the root,
+	 * so it is right wherever the position is reached.
+	 *
+	 * @param score is the score.
+	 * @param ply is the ply of the position.
+	 *
+	 * @return the score to store in a {@link TranspositionTable}.
+	 */
+	private static int toTable(int score, int ply) {
+		if (score >= mate - maxPly)		return score + ply;
+		if (score <= maxPly - mate)		return score - ply;
+		return score;
+	}
+
+	/**
+	 * Make the quiet {@code move}, which the opponent could not answer, the first killer of {@code ply},
+	 * and add to its history more the deeper the position was searched.
+	 *
+	 * @param ply is the ply.
+	 * @param move is the move.
+	 * @param depth is the number of moves left to search after {@code ply}.
+	 */
+	private void updateKillers(int ply, int move, int depth) {
+		int[] killers = this.killers[ply];
+		if (killers[0] != move) {
+			killers[1] = killers[0];
+			killers[0] = move;
+		}
+
+		int[] history = this.history[historyIndex(this.board.getTile(Move.getFrom(move)).getPiece())];
+		history[Move.getTo(move)] += depth * depth;
+		if (history[Move.getTo(move)] > 1 << 20) this.ageHistory();
+	}
+
+	/**
+	 * Make {@code move} followed by the principal variation of the next ply the principal variation at {@code ply}.
+	 *
+	 * @param ply is the ply.
+	 * @param move is the best move at {@code ply}.
+	 */
+	private void updatePv(int ply, int move) {
+		int[] pv = this.pv[ply], next = this.pv[ply + 1];
+		pv[ply] = move;
+		int length = this.pvLength[ply + 1];
+		System.arraycopy(next, ply + 1, pv, ply + 1, length - ply - 1);
+		this.pvLength[ply] = Math.max(length, ply + 1);
+	}
+
+	public static void main(String[] args) {
+		int depth = maxDepth, megabytes = 16, threads = 1;
+		long time = 0;
+		long[] clock = null;
+		SearchOptions options = new SearchOptions();
+		StringBuilder fen = new StringBuilder();
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "-depth":
+					depth = Integer.parseInt(args[++i]);
+					break;
+				case "-time":
+					time = Long.parseLong(args[++i]);
+					break;
+				case "-hash":
+					megabytes = Integer.parseInt(args[++i]);
+					break;
+				case "-threads":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-clock":
+					clock = new long[] {Long.parseLong(args[++i]), Long.parseLong(args[++i])};
+					break;
+				case "-nodes":
+					options.setNodes(Long.parseLong(args[++i]));
+					break;
+				case "-nopvs":
+					options.setPvs(false);
+					break;
+				case "-aspiration":
+					options.setAspiration(Integer.parseInt(args[++i]));
+					break;
+				case "-null":
+					options.setNullMove(Integer.parseInt(args[++i]), Integer.parseInt(args[++i]));
+					break;
+				case "-lmr":
+					options.setLmr(Integer.parseInt(args[++i]), Integer.parseInt(args[++i]), Integer.parseInt(args[++i]));
+					break;
+				default:
+					fen.append(args[i]).append(' ');
+				}
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			depth = 0;
+		} if (depth < 1 || depth > maxDepth || time < 0 || (depth == maxDepth && time == 0 && clock == null && options.getNodes() == 0) || megabytes < 0
+				|| threads < 1 || (threads > 1 && megabytes == 0)) {
+			System.err.println("Usage: java Search [-depth n] [-time milliseconds] [-clock milliseconds increment] [-nodes n] [-hash megabytes] [-threads n]"
+					+ " [-nopvs] [-aspiration cp] [-null reduction verification] [-lmr reduction depth moves] [fen]");
+			System.exit(1);
+		}
+
+		ChessBoard board = new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+		board.setPosition(fen.length() == 0 ? ChessBoard.startPosition : fen.toString().trim());
+		TranspositionTable table = megabytes == 0 ? null : new TranspositionTable(megabytes);
+		SearchListener listener = new SearchListener() {
+			@Override
+			public void iterationDone(int depth, int score, long nodes, long nanos, int[] pv) {
+				System.out.println("info " + describe(depth, score, nodes, nanos, pv));
+			}
+		};
+		System.out.println("info options " + options);
+		TimeManager manager = new TimeManager();
+		if (clock != null) manager.start(clock[0], clock[1], 0);
+		int move;
+		long[] cutoffs;
+		if (threads == 1) {
+			Search search = new Search(board, table);
+			search.setOptions(options);
+			search.setListener(listener);
+			move	= clock == null ? search.bestMove(depth, time) : search.bestMove(depth, manager);
+			cutoffs	= search.getCutoffs();
+		} else {
+			ParallelSearch search = new ParallelSearch(board, table, threads);
+			search.setOptions(options);
+			search.setListener(listener);
+			move	= clock == null ? search.bestMove(depth, time) : search.bestMove(depth, manager);
+			cutoffs	= search.getCutoffs();
+		}
+		System.out.println(String.format("info cutoffs hash %d captures %d killers %d quiets %d losing %d",
+				cutoffs[MovePicker.hash], cutoffs[MovePicker.captures], cutoffs[MovePicker.killers], cutoffs[MovePicker.quiets], cutoffs[MovePicker.losing]));
+		if (table != null) System.out.println("info hash " + table);
+		if (clock != null) System.out.println("info clock " + manager);
+		System.out.println("bestmove " + (move == Move.none ? "(none)" : Move.toString(move)));
+	}
+
+	/**
+	 * Describe one iteration of a search, as reported to a {@link SearchListener}.
+	 *
+	 * @param depth is the depth searched.
+	 * @param score is the score of the position.
+	 * @param nodes is the number of positions searched.
+	 * @param nanos is the time taken, in nanoseconds.
+	 * @param pv is the principal variation.
+	 *
+	 * @return the description, such as {@code depth 4 score cp 35 nodes 4096 nps 1000000 time 4 pv e2e4 e7e5}.
+	 */
+	public static String describe(int depth, int score, long nodes, long nanos, int[] pv) {
+		StringBuilder str = new StringBuilder("depth ").append(depth);
+		if (Math.abs(score) < mate - maxPly)	str.append(" score cp ").append(score);
+		else									str.append(" score mate ").append(score > 0 ? (mate - score + 1) / 2 : -(mate + score) / 2);
+		str.append(" nodes ").append(nodes);
+		str.append(" nps ").append(nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos);
+		str.append(" time ").append(nanos / 1_000_000);
+		str.append(" pv");
+		for (int move : pv) {
+			str.append(' ').append(Move.toString(move));
+		} return str.toString();
+	}
+}
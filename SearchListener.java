@@ -0,0 +1,20 @@
+/**
+ * The {@code SearchListener} interface is how a {@link Search} reports its progress. <br>
+ * Every method has an empty default so a {@code Search} can run without reporting.
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public interface SearchListener {
+	/**
+	 * Called each time a {@link Search} has searched every move to one more depth.
+	 *
+	 * @param depth is the depth searched.
+	 * @param score is the score of the position for the {@link Player} to move, in hundredths of a {@link Pawn}.
+	 * @param nodes is the number of positions searched so far.
+	 * @param nanos is the time taken so far, in nanoseconds.
+	 * @param pv is the <i>principal variation</i>, the moves both {@code Player} are expected to make.
+	 */
+	default void iterationDone(int depth, int score, long nodes, long nanos, int[] pv) {}
+}
@@ -0,0 +1,230 @@
+/**
+ * The {@code SearchOptions} class holds the settings of the pruning a {@link Search} does, so each can be turned off
+ * or tuned and compared against the others on the same positions, for example with the same number of positions searched.
+ * <ul>
+ * <li><i>Principal variation search</i>: every move after the first is searched only to prove that it is no better,
+ * and searched again if it is.</li>
+ * <li><i>Aspiration windows</i>: each iteration expects the score of the last, give or take {@link #getAspiration()},
+ * and searches again with a wider window if it is wrong.</li>
+ * <li><i>Null move pruning</i>: a position that is still good enough after passing the turn is not searched further.
+ * This is never done in <b>check</b>, twice in a row, or by a {@link Player} with only {@link Pawn} and a {@link King},
+ * who may be in <i>zugzwang</i>; a deep enough cut is checked by a shallower search without null moves.</li>
+ * <li><i>Late move reductions</i>: a quiet move ordered late is searched less deep, and searched again if it is better than expected.</li>
+ * </ul>
+ * Changing a {@code SearchOptions} while it is searched with is not allowed.
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class SearchOptions {
+	/**
+	 * {@code true} to search with <i>principal variation search</i>.
+	 */
+	private boolean pvs;
+
+	/**
+	 * Half the width of the aspiration window, in hundredths of a {@link Pawn}, or {@code 0} to search without one.
+	 */
+	private int aspiration;
+
+	/**
+	 * How much less deep the search after a null move is, or {@code 0} to search without null moves.
+	 */
+	private int nullReduction;
+
+	/**
+	 * The least depth at which a cut by a null move is checked.
+	 */
+	private int nullVerification;
+
+	/**
+	 * How much less deep a late move is searched, or {@code 0} to search without reductions.
+	 */
+	private int lmrReduction;
+
+	/**
+	 * The least depth at which late moves are reduced.
+	 */
+	private int lmrDepth;
+
+	/**
+	 * The number of moves searched in full before the rest are reduced.
+	 */
+	private int lmrMoves;
+
+	/**
+	 * The most positions searched, or {@code 0} for no limit.
+	 */
+	private long nodes;
+
+	/**
+	 * Create the {@code SearchOptions} a {@link Search} uses by default: every technique on, and no limit on the positions searched.
+	 */
+	public SearchOptions() {
+		this.pvs				= true;
+		this.aspiration			= 25;
+		this.nullReduction		= 2;
+		this.nullVerification	= 6;
+		this.lmrReduction		= 1;
+		this.lmrDepth			= 3;
+		this.lmrMoves			= 3;
+		this.nodes				= 0;
+	}
+
+	/**
+	 * Create a copy of {@code options}.
+	 *
+	 * @param options is the {@code SearchOptions} to copy.
+	 */
+	public SearchOptions(SearchOptions options) {
+		this.pvs				= options.pvs;
+		this.aspiration			= options.aspiration;
+		this.nullReduction		= options.nullReduction;
+		this.nullVerification	= options.nullVerification;
+		this.lmrReduction		= options.lmrReduction;
+		this.lmrDepth			= options.lmrDepth;
+		this.lmrMoves			= options.lmrMoves;
+		this.nodes				= options.nodes;
+	}
+
+	/**
+	 * @return {@link #aspiration}
+	 */
+	public int getAspiration() {
+		return this.aspiration;
+	}
+
+	/**
+	 * @return {@link #lmrDepth}
+	 */
+	public int getLmrDepth() {
+		return this.lmrDepth;
+	}
+
+	/**
+	 * @return {@link #lmrMoves}
+	 */
+	public int getLmrMoves() {
+		return this.lmrMoves;
+	}
+
+	/**
+	 * @return {@link #lmrReduction}
+	 */
+	public int getLmrReduction() {
+		return this.lmrReduction;
+	}
+
+	/**
+	 * @return {@link #nodes}
+	 */
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	/**
+	 * @return {@link #nullReduction}
+	 */
+	public int getNullReduction() {
+		return this.nullReduction;
+	}
+
+	/**
+	 * @return {@link #nullVerification}
+	 */
+	public int getNullVerification() {
+		return this.nullVerification;
+	}
+
+	/**
+	 * @return {@link #pvs}
+	 */
+	public boolean isPvs() {
+		return this.pvs;
+	}
+
+	/**
+	 * Change {@link #aspiration} to {@code aspiration}.
+	 *
+	 * @param aspiration is half the width of the window, or {@code 0} to search without one.
+	 *
+	 * @return this {@code SearchOptions}.
+	 *
+	 * @throws IllegalArgumentException if {@code aspiration} is negative.
+	 */
+	public SearchOptions setAspiration(int aspiration) throws IllegalArgumentException {
+		if (aspiration < 0) throw new IllegalArgumentException("Illegal aspiration window: " + aspiration);
+		this.aspiration = aspiration;
+		return this;
+	}
+
+	/**
+	 * Change how late moves are reduced.
+	 *
+	 * @param reduction is how much less deep a late move is searched, or {@code 0} to search without reductions.
+	 * @param depth is the least depth at which late moves are reduced.
+	 * @param moves is the number of moves searched in full before the rest are reduced.
+	 *
+	 * @return this {@code SearchOptions}.
+	 *
+	 * @throws IllegalArgumentException if any of them is negative, or {@code depth} is less than {@code 2}.
+	 */
+	public SearchOptions setLmr(int reduction, int depth, int moves) throws IllegalArgumentException {
+		if (reduction < 0 || depth < 2 || moves < 0) throw new IllegalArgumentException("Illegal reduction: " + reduction + " " + depth + " " + moves);
+		this.lmrReduction	= reduction;
+		this.lmrDepth		= depth;
+		this.lmrMoves		= moves;
+		return this;
+	}
+
+	/**
+	 * Change {@link #nodes} to {@code nodes}.
+	 *
+	 * @param nodes is the most positions searched, or {@code 0} for no limit.
+	 *
+	 * @return this {@code SearchOptions}.
+	 *
+	 * @throws IllegalArgumentException if {@code nodes} is negative.
+	 */
+	public SearchOptions setNodes(long nodes) throws IllegalArgumentException {
+		if (nodes < 0) throw new IllegalArgumentException("Illegal node limit: " + nodes);
+		this.nodes = nodes;
+		return this;
+	}
+
+	/**
+	 * Change how null moves are searched.
+	 *
+	 * @param reduction is how much less deep the search after a null move is, or {@code 0} to search without null moves.
+	 * @param verification is the least depth at which a cut by a null move is checked.
+	 *
+	 * @return this {@code SearchOptions}.
+	 *
+	 * @throws IllegalArgumentException if either is negative.
+	 */
+	public SearchOptions setNullMove(int reduction, int verification) throws IllegalArgumentException {
+		if (reduction < 0 || verification < 0) throw new IllegalArgumentException("Illegal reduction: " + reduction + " " + verification);
+		this.nullReduction		= reduction;
+		this.nullVerification	= verification;
+		return this;
+	}
+
+	/**
+	 * Change {@link #pvs} to {@code pvs}.
+	 *
+	 * @param pvs is {@code true} to search with <i>principal variation search</i>.
+	 *
+	 * @return this {@code SearchOptions}.
+	 */
+	public SearchOptions setPvs(boolean pvs) {
+		this.pvs = pvs;
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return "pvs " + this.pvs + " aspiration " + this.aspiration + " null " + this.nullReduction + " " + this.nullVerification
+				+ " lmr " + this.lmrReduction + " " + this.lmrDepth + " " + this.lmrMoves + " nodes " + this.nodes;
+	}
+}
@@ -0,0 +1,207 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.Objects;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JOptionPane;
+
+/**
+ * This {@code TileButton} class draws a {@link Tile}
+ * on a {@link ChessBoardPanel} and forwards clicks to the {@link ChessBoard}.
+ *
+ * @version 21 March 2020
+ * @author MrPineapple065
+ *
+ */
+public final class TileButton extends JButton implements MouseListener, KeyListener {
+	/**
+	 * serialVersionUID
+	 */
+	private static final long serialVersionUID = 0x851FA7B9FE81A8EDL;
+
+	/**
+	 * An {@code Array} of {@link Color} that this could be.
+	 */
+	private static final Color[] tileColors	= new Color[] {new Color(0xC89669), new Color(0x73463C)};
+
+	/**
+	 * The {@link Color} each {@link Piece} is drawn in, indexed by the ordinal of its {@link PieceColor}.
+	 */
+	private static final Color[] pieceColors	= new Color[] {new Color(0xd3d3d3), new Color(0x2c2c2c)};
+
+	/**
+	 * The {@link ChessBoardPanel} that holds this.
+	 */
+	private final ChessBoardPanel boardPanel;
+
+	/**
+	 * The {@link Tile} drawn by this.
+	 */
+	private final Tile tile;
+
+	/**
+	 * The {@link Color} of this.
+	 */
+	private final Color	tileColor;
+
+	/**
+	 * Create {@code TileButton} with all attributes defined.
+	 *
+	 * @param b is the {@link ChessBoardPanel} holding this.
+	 * @param tile is the {@link Tile} drawn by this.
+	 *
+	 * @throws NullPointerException if {@code b} or {@code tile} are {@code null}.
+	 */
+	public TileButton(ChessBoardPanel b, Tile tile) throws NullPointerException {
+		super(null, null);
+		this.boardPanel = Objects.requireNonNull(b, "This tile must be on a ChessBoardPanel.");
+		this.tile		= Objects.requireNonNull(tile, "This button must draw a Tile.");
+
+		int row = tile.getRow(), column = tile.getColumn();
+		this.tileColor = (row % 2 == 0 && column % 2 == 0) || (row % 2 == 1 && column % 2 == 1) ? TileButton.tileColors[0] : TileButton.tileColors[1];
+
+		//Set GUI Elements
+		super.setFont(new Font("", Font.PLAIN, 40));	this.setBackground(this.tileColor);
+		this.setHorizontalAlignment(JButton.CENTER);	this.setVerticalAlignment(JButton.CENTER);
+		this.setFocusPainted(false);					this.setBorder(null);
+
+		//Add Interactivity
+		this.addKeyListener(this);	this.addMouseListener(this);
+		this.setFocusable(true);
+		this.requestFocusInWindow();
+		this.update();
+	}
+
+	/**
+	 * @return {@link #tile}
+	 */
+	public Tile getTile() {
+		return this.tile;
+	}
+
+	/**
+	 * @return {@link #tileColor}
+	 */
+	public Color getTileColor() {
+		return this.tileColor;
+	}
+
+	/**
+	 * Update GUI once a move has been completed.
+	 *
+	 * @return {@code true} when updated.
+	 */
+	public boolean update() {
+		Piece piece = this.tile.getPiece();
+		if (piece != null) {
+			this.setText(piece.toString());
+			this.setForeground(pieceColors[piece.getPieceColor().ordinal()]);
+		} else {
+			this.setText("");
+			this.setForeground(null);
+		} return true;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((boardPanel == null) ? 0 : boardPanel.hashCode());
+		result = prime * result + tile.hashCode();
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)										return true;
+		if (!(obj instanceof TileButton)) 						return false;
+		TileButton other = (TileButton) obj;
+		if (boardPanel == null) if (other.boardPanel != null)	return false;
+		else if (!boardPanel.equals(other.boardPanel))			return false;
+		return this.tile.equals(other.tile);
+	}
+
+	@Override
+	public String toString() {
+		return this.tile.toString();
+	}
+
+	@Override
+	public void mouseClicked(MouseEvent e) {
+		switch (e.getButton()) {
+		case MouseEvent.BUTTON1:
+			this.boardPanel.getBoard().movePiece(this.tile);
+			return;
+		case MouseEvent.BUTTON2:
+			String tileText = this.getText();
+			String coords = this.tile.getRow() + ", " + this.tile.getColumn();
+			if ("".equals(tileText) || ! coords.equals(tileText)) {
+				this.setForeground(new Color(0x333333));
+				this.setText(coords);
+			} else this.update();
+			return;
+		case MouseEvent.BUTTON3:
+			String tileText1 = this.getText();
+			if ("".equals(tileText1) || !this.toString().equals(tileText1)) {
+				this.setForeground(new Color(0x333333));
+				this.setText(this.toString());
+			} else this.update();
+			return;
+		}
+	}
+
+	@Override
+	public void mousePressed(MouseEvent e) {this.getModel().setPressed(true);}
+
+	@Override
+	public void mouseReleased(MouseEvent e) {this.getModel().setPressed(false);}
+
+	@Override
+	public void mouseEntered(MouseEvent e) {this.setBorder(BorderFactory.createLineBorder(Color.BLACK, 3));}
+
+	@Override
+	public void mouseExited(MouseEvent e) {this.setBorder(null);}
+
+	@Override
+	public void keyTyped(KeyEvent e) {
+		switch(e.getKeyChar()) {
+		case KeyEvent.VK_ESCAPE:
+			this.boardPanel.actionPerformed(null);
+			return;
+		case 'e':
+			ChessBoard board = this.boardPanel.getBoard();
+			if (board.getTiles()[1] == null) {
+				board.resetTiles();
+				JOptionPane.showMessageDialog(null, "Piece deselected", "", JOptionPane.PLAIN_MESSAGE, null);
+			} return;
+		case 's':
+			this.boardPanel.scoresOption();
+			return;
+		case 'r':
+			this.boardPanel.resetOption();
+			return;
+		case 'q':
+			this.boardPanel.quitOption();
+			return;
+		case 'f':
+			this.boardPanel.resignOption();
+			return;
+		case 'c':
+			this.boardPanel.controlsOption();
+			return;
+		default:
+			return;
+		}
+	}
+
+	@Override
+	public void keyPressed(KeyEvent e) {return;}
+
+	@Override
+	public void keyReleased(KeyEvent e) {return;}
+}
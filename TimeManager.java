@@ -0,0 +1,198 @@
+import java.util.Arrays;
+
+/**
+ * The {@code TimeManager} class decides how long a {@link Search} may think about each move, from the time left on the clock.
+ * <p>Each move has two limits. Once the <i>soft</i> limit has passed, no new iteration is started, as it would most likely
+ * not finish anyway. Once the <i>hard</i> limit has passed, the search stops as soon as it next looks at the clock
+ * and the move of the deepest iteration that finished is played. The hard limit always leaves {@link #getOverhead()}
+ * on the clock, for the move to reach the opponent and for the pauses of the garbage collector.</p>
+ * <p>Each move is timed from {@link #start(long, long, int)} to {@link #finish()}, and how late it was past the hard limit,
+ * its <i>overshoot</i>, is kept for the last {@link #samples} moves; see {@link #getOvershoot(double)}.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class TimeManager {
+	/**
+	 * The time left on the clock by the hard limit, in milliseconds, unless another is given.
+	 */
+	public static final long defaultOverhead	= 30;
+
+	/**
+	 * The number of moves the time left on the clock is shared between, when the number of moves to the next time control is not known.
+	 */
+	public static final int defaultMovesToGo	= 30;
+
+	/**
+	 * The number of moves whose overshoot is kept.
+	 */
+	public static final int samples				= 1024;
+
+	/**
+	 * The time left on the clock by the hard limit, in milliseconds.
+	 */
+	private final long overhead;
+
+	/**
+	 * The overshoot of each of the last {@link #samples} moves, in nanoseconds, oldest first once full.
+	 */
+	private final long[] overshoots;
+
+	/**
+	 * The number of moves timed.
+	 */
+	private long moves;
+
+	/**
+	 * The {@link System#nanoTime()} the move was started at.
+	 */
+	private long start;
+
+	/**
+	 * The soft limit of the move, in milliseconds.
+	 */
+	private long soft;
+
+	/**
+	 * The hard limit of the move, in milliseconds.
+	 */
+	private long hard;
+
+	/**
+	 * Create a {@code TimeManager} that leaves {@link #defaultOverhead} on the clock.
+	 */
+	public TimeManager() {
+		this(defaultOverhead);
+	}
+
+	/**
+	 * Create a {@code TimeManager} that leaves {@code overhead} on the clock.
+	 *
+	 * @param overhead is the time left on the clock by the hard limit, in milliseconds.
+	 *
+	 * @throws IllegalArgumentException if {@code overhead} is negative.
+	 */
+	public TimeManager(long overhead) throws IllegalArgumentException {
+		if (overhead < 0) throw new IllegalArgumentException("Illegal overhead: " + overhead);
+		this.overhead	= overhead;
+		this.overshoots	= new long[samples];
+	}
+
+	/**
+	 * Record that the move started by {@link #start(long, long, int)} has been made, and how late it was.
+	 *
+	 * @return the overshoot of the move, in nanoseconds; {@code 0} if it was in time.
+	 */
+	public synchronized long finish() {
+		long overshoot = Math.max(0, System.nanoTime() - this.getHardDeadline());
+		this.overshoots[(int)(this.moves++ % samples)] = overshoot;
+		return overshoot;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} the search must stop by.
+	 */
+	public long getHardDeadline() {
+		return this.start + this.hard * 1_000_000;
+	}
+
+	/**
+	 * @return the hard limit of the move, in milliseconds.
+	 */
+	public long getHardLimit() {
+		return this.hard;
+	}
+
+	/**
+	 * @return the number of moves timed.
+	 */
+	public synchronized long getMoves() {
+		return this.moves;
+	}
+
+	/**
+	 * @return {@link #overhead}
+	 */
+	public long getOverhead() {
+		return this.overhead;
+	}
+
+	/**
+	 * Find the overshoot that {@code percentile} of the last {@link #samples} moves were no later than.
+	 *
+	 * @param percentile is the percentile, from {@code 0} to {@code 100}, such as {@code 99}.
+	 *
+	 * @return	the overshoot, in nanoseconds.<br>
+	 * 			{@code 0} if no move has been timed.
+	 *
+	 * @throws IllegalArgumentException if {@code percentile} is out of range.
+	 */
+	public synchronized long getOvershoot(double percentile) throws IllegalArgumentException {
+		if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("Illegal percentile: " + percentile);
+		int size = (int)Math.min(this.moves, samples);
+		if (size == 0) return 0;
+		long[] sorted = Arrays.copyOf(this.overshoots, size);
+		Arrays.sort(sorted);
+		return sorted[Math.max(0, (int)Math.ceil(percentile / 100 * size) - 1)];
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} after which no new iteration is started.
+	 */
+	public long getSoftDeadline() {
+		return this.start + this.soft * 1_000_000;
+	}
+
+	/**
+	 * @return the soft limit of the move, in milliseconds.
+	 */
+	public long getSoftLimit() {
+		return this.soft;
+	}
+
+	/**
+	 * Start timing a move made with {@code remaining} left on the clock.<br>
+	 * The soft limit is an even share of the time left over the moves to go plus most of the increment.
+	 * The hard limit is four times that, but never more than half the time left plus the increment,
+	 * unless this is the last move before the time control.
+	 *
+	 * @param remaining is the time left on the clock, in milliseconds.
+	 * @param increment is the time added to the clock after each move, in milliseconds.
+	 * @param movesToGo is the number of moves to the next time control, or {@code 0} if not known.
+	 *
+	 * @throws IllegalArgumentException if any of them is negative.
+	 */
+	public void start(long remaining, long increment, int movesToGo) throws IllegalArgumentException {
+		if (remaining < 0 || increment < 0 || movesToGo < 0) throw new IllegalArgumentException("Illegal clock: " + remaining + " " + increment + " " + movesToGo);
+		long start = System.nanoTime();
+		if (movesToGo == 0) movesToGo = defaultMovesToGo;
+		long available = Math.max(1, remaining - this.overhead);
+		long soft = remaining / movesToGo + increment * 3 / 4;
+		long hard = movesToGo == 1 ? available : Math.min(available, Math.min(4 * soft, available / 2 + increment));
+		this.start	= start;
+		this.hard	= Math.max(1, hard);
+		this.soft	= Math.max(1, Math.min(soft, this.hard));
+	}
+
+	/**
+	 * Start timing a move that must be made within {@code moveTime}, less {@link #getOverhead()}.<br>
+	 * The soft and hard limits are the same, so the last iteration is stopped rather than not started.
+	 *
+	 * @param moveTime is the time for the move, in milliseconds.
+	 *
+	 * @throws IllegalArgumentException if {@code moveTime} is negative.
+	 */
+	public void start(long moveTime) throws IllegalArgumentException {
+		if (moveTime < 0) throw new IllegalArgumentException("Illegal time: " + moveTime);
+		this.start	= System.nanoTime();
+		this.hard	= Math.max(1, moveTime - this.overhead);
+		this.soft	= this.hard;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("moves %d soft %d hard %d overshoot p50 %.3f p99 %.3f max %.3f", this.moves, this.soft, this.hard,
+				this.getOvershoot(50) / 1e6, this.getOvershoot(99) / 1e6, this.getOvershoot(100) / 1e6);
+	}
+}
@@ -0,0 +1,267 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code TranspositionTable} class remembers what a {@link Search} found out about each position,
+ * keyed by the {@link Zobrist} key of the position, so a position reached again need not be searched again.
+ * <p>Each entry packs, into one {@code long}:</p>
+ * <ul>
+ * <li>bits 0 to 18: the best {@link Move}, or {@link Move#none}.</li>
+ * <li>bits 19 to 34: the score.</li>
+ * <li>bits 35 to 42: the depth searched.</li>
+ * <li>bits 43 and 44: the bound, {@link #lower}, {@link #upper} or {@link #exact}.</li>
+ * <li>bits 45 to 52: the age, the number of searches started before the entry was stored, modulo {@code 256}.</li>
+ * </ul>
+ * <p>Entries are kept in buckets of {@link #bucket}. A new entry replaces the entry of the same position,
+ * or else the entry of the bucket that is worth the least: the shallowest, counting an entry from an older search
+ * as {@code 8} moves shallower for each search since.</p>
+ * <p>Any number of threads may share a {@code TranspositionTable} without locking. The key of each entry is stored xor'd with
+ * the entry, so an entry torn by two threads writing at once no longer matches its key and is treated as missing.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class TranspositionTable {
+	/**
+	 * The bound of a score that is at least the score of the position.
+	 */
+	public static final int lower	= 1;
+
+	/**
+	 * The bound of a score that is at most the score of the position.
+	 */
+	public static final int upper	= 2;
+
+	/**
+	 * The bound of a score that is the score of the position.
+	 */
+	public static final int exact	= 3;
+
+	/**
+	 * The number of entries in a bucket.
+	 */
+	public static final int bucket	= 4;
+
+	/**
+	 * The key of each entry, xor'd with {@link #entries}.
+	 */
+	private final long[] keys;
+
+	/**
+	 * Each entry, or {@code 0} for an empty entry.
+	 */
+	private final long[] entries;
+
+	/**
+	 * One less than the number of buckets, which is a power of two.
+	 */
+	private final int mask;
+
+	/**
+	 * The number of searches started, modulo {@code 256}; see {@link #newSearch()}.
+	 */
+	private volatile int age;
+
+	/**
+	 * The number of times {@link #probe(long)} has been called.
+	 */
+	private final LongAdder probes;
+
+	/**
+	 * The number of times {@link #probe(long)} has found an entry.
+	 */
+	private final LongAdder hits;
+
+	/**
+	 * The number of times {@link #store(long, int, int, int, int)} has replaced an entry of another position from the same search.
+	 */
+	private final LongAdder collisions;
+
+	/**
+	 * Create an empty {@code TranspositionTable} using about {@code megabytes} of memory.
+	 *
+	 * @param megabytes is the memory to use, at least {@code 1}.
+	 *
+	 * @throws IllegalArgumentException if {@code megabytes} is less than {@code 1}.
+	 */
+	public TranspositionTable(int megabytes) throws IllegalArgumentException {
+		if (megabytes < 1) throw new IllegalArgumentException("Illegal size: " + megabytes);
+		int buckets = Integer.highestOneBit((int)Math.min((long)megabytes << 20 >>> 4 >>> 2, 1 << 28));
+		this.keys		= new long[buckets * bucket];
+		this.entries	= new long[buckets * bucket];
+		this.mask		= buckets - 1;
+		this.probes		= new LongAdder();
+		this.hits		= new LongAdder();
+		this.collisions	= new LongAdder();
+	}
+
+	/**
+	 * Remove every entry and reset the statistics.<br>
+	 * This must not be called while the table is being searched.
+	 */
+	public void clear() {
+		Arrays.fill(this.keys, 0L);
+		Arrays.fill(this.entries, 0L);
+		this.age = 0;
+		this.probes.reset();
+		this.hits.reset();
+		this.collisions.reset();
+	}
+
+	/**
+	 * @param entry is an entry.
+	 *
+	 * @return the age of {@code entry}.
+	 */
+	public static int getAge(long entry) {
+		return (int)(entry >>> 45) & 255;
+	}
+
+	/**
+	 * @param entry is an entry.
+	 *
+	 * @return the bound of {@code entry}: {@link #lower}, {@link #upper} or {@link #exact}.
+	 */
+	public static int getBound(long entry) {
+		return (int)(entry >>> 43) & 3;
+	}
+
+	/**
+	 * @return the number of times {@link #store(long, int, int, int, int)} replaced an entry of another position from the same search.
+	 */
+	public long getCollisions() {
+		return this.collisions.sum();
+	}
+
+	/**
+	 * @param entry is an entry.
+	 *
+	 * @return the depth of {@code entry}.
+	 */
+	public static int getDepth(long entry) {
+		return (int)(entry >>> 35) & 255;
+	}
+
+	/**
+	 * @return the number of times {@link #probe(long)} found an entry.
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @param entry is an entry.
+	 *
+	 * @return the {@link Move} of {@code entry}.
+	 */
+	public static int getMove(long entry) {
+		return (int)entry & 0x7FFFF;
+	}
+
+	/**
+	 * @return the number of times {@link #probe(long)} has been called.
+	 */
+	public long getProbes() {
+		return this.probes.sum();
+	}
+
+	/**
+	 * @param entry is an entry.
+	 *
+	 * @return the score of {@code entry}.
+	 */
+	public static int getScore(long entry) {
+		return (short)(entry >>> 19);
+	}
+
+	/**
+	 * Estimate how full this is, from the first {@code 1000} entries.
+	 *
+	 * @return the entries of the current search in every thousand entries.
+	 */
+	public int getUsage() {
+		int used = 0, age = this.age, sample = Math.min(1000, this.entries.length);
+		for (int i = 0; i < sample; i++) {
+			long entry = this.entries[i];
+			if (entry != 0 && getAge(entry) == age) used++;
+		} return used * 1000 / sample;
+	}
+
+	/**
+	 * Determine where the bucket of {@code key} starts.
+	 *
+	 * @param key is the {@link Zobrist} key of a position.
+	 *
+	 * @return the index of the first entry of the bucket.
+	 */
+	private int index(long key) {
+		return ((int)key & this.mask) * bucket;
+	}
+
+	/**
+	 * Start a new search, so entries of older searches are replaced first.
+	 */
+	public void newSearch() {
+		this.age = (this.age + 1) & 255;
+	}
+
+	/**
+	 * Find the entry of the position whose key is {@code key}.
+	 *
+	 * @param key is the {@link Zobrist} key of the position.
+	 *
+	 * @return	the entry.<br>
+	 * 			{@code 0} if there is none.
+	 */
+	public long probe(long key) {
+		this.probes.increment();
+		for (int i = this.index(key), end = i + bucket; i < end; i++) {
+			long entry = this.entries[i];
+			if (entry != 0 && (this.keys[i] ^ entry) == key) {
+				this.hits.increment();
+				return entry;
+			}
+		} return 0;
+	}
+
+	/**
+	 * Store what was found about the position whose key is {@code key}.<br>
+	 * If {@code move} is {@link Move#none}, the move of an entry of the same position is kept.
+	 *
+	 * @param key is the {@link Zobrist} key of the position.
+	 * @param move is the best {@link Move}, or {@link Move#none}.
+	 * @param score is the score.
+	 * @param depth is the depth searched, from {@code 0} to {@code 255}.
+	 * @param bound is the bound of {@code score}: {@link #lower}, {@link #upper} or {@link #exact}.
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		int age = this.age, replace = this.index(key), worst = Integer.MAX_VALUE;
+		for (int i = replace, end = i + bucket; i < end; i++) {
+			long entry = this.entries[i];
+			if (entry == 0 || (this.keys[i] ^ entry) == key) {	//An empty entry, or the same position
+				if (entry != 0 && move == Move.none) move = getMove(entry);
+				replace = i;
+				break;
+			}
+			int worth = getDepth(entry) - 8 * ((age - getAge(entry)) & 255);
+			if (worth < worst) {
+				worst	= worth;
+				replace	= i;
+			}
+		}
+
+		long old = this.entries[replace];
+		if (old != 0 && getAge(old) == age && (this.keys[replace] ^ old) != key) this.collisions.increment();
+		long entry = (move & 0x7FFFFL) | (score & 0xFFFFL) << 19 | (long)(depth & 255) << 35 | (long)bound << 43 | (long)age << 45;
+		this.entries[replace]	= entry;
+		this.keys[replace]		= key ^ entry;
+	}
+
+	@Override
+	public String toString() {
+		long probes = this.getProbes(), hits = this.getHits();
+		return String.format("probes %d hits %d (%.1f%%) collisions %d usage %d/1000",
+				probes, hits, probes == 0 ? 0.0 : 100.0 * hits / probes, this.getCollisions(), this.getUsage());
+	}
+}
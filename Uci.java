@@ -0,0 +1,553 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The {@code Uci} class lets a chess GUI or tournament manager play with the {@link ParallelSearch},
+ * over the <i>Universal Chess Interface</i> on standard input and output.
+ * <p>It understands {@code uci}, {@code isready}, {@code ucinewgame},
+ * {@code setoption name Hash|Threads|Ponder|Clear Hash [value v]}, {@code position startpos|fen <fen> [moves ...]},
+ * {@code go [wtime n] [btime n] [winc n] [binc n] [movestogo n] [movetime n] [depth n] [nodes n] [infinite] [ponder]},
+ * {@code stop}, {@code ponderhit} and {@code quit}.</p>
+ * <p>The search runs on its own thread, so {@code stop} and {@code ponderhit} are read while it runs.
+ * While pondering or searching with {@code infinite}, {@code bestmove} is only sent after {@code stop} or {@code ponderhit},
+ * even if the search ends sooner. {@code go ponder} is searched by a {@link Ponder}, from the position before the last move
+ * of {@code position}, which is the reply pondered. On {@code ponderhit} the search carries on, within the limits the {@code go ponder} gave,
+ * timed from the {@code ponderhit}; on {@code stop} it is stopped.</p>
+ * <p>Unlike {@link Chess}, this never opens a window, so it starts at once and can play many games one after another.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Uci {
+	/**
+	 * The name of the engine.
+	 */
+	public static final String name		= "Chess";
+
+	/**
+	 * The author of the engine.
+	 */
+	public static final String author	= "MrPineapple065";
+
+	/**
+	 * The largest {@link TranspositionTable}, in megabytes.
+	 */
+	public static final int maxHash		= 65536;
+
+	/**
+	 * The most threads.
+	 */
+	public static final int maxThreads	= 256;
+
+	/**
+	 * Where replies are sent.
+	 */
+	private final PrintStream out;
+
+	/**
+	 * The {@link ChessBoard} of the game.
+	 */
+	private final ChessBoard board;
+
+	/**
+	 * The {@link TimeManager} of every move.
+	 */
+	private final TimeManager time;
+
+	/**
+	 * The {@link SearchOptions} searched with; only the limit on positions changes with each {@code go}.
+	 */
+	private final SearchOptions options;
+
+	/**
+	 * The {@link TranspositionTable}.
+	 */
+	private TranspositionTable table;
+
+	/**
+	 * The {@link ParallelSearch} of {@link #board}.
+	 */
+	private ParallelSearch search;
+
+	/**
+	 * The {@link Ponder} of {@code go ponder}, which shares {@link #table}.
+	 */
+	private Ponder ponder;
+
+	/**
+	 * The position before the last move of {@code position}, in <i>Forsyth-Edwards Notation</i>, or {@code null} if it had no move.
+	 */
+	private String ponderPosition;
+
+	/**
+	 * The last move of {@code position}, which {@code go ponder} ponders, or {@link Move#none}.
+	 */
+	private int ponderMove;
+
+	/**
+	 * The number of threads.
+	 */
+	private int threads;
+
+	/**
+	 * The thread searching, or {@code null}.
+	 */
+	private Thread thread;
+
+	/**
+	 * {@code true} while {@code bestmove} must wait for {@code stop} or {@code ponderhit}.
+	 */
+	private boolean waiting;
+
+	/**
+	 * {@code true} while pondering, until {@code ponderhit} or {@code stop}.
+	 */
+	private boolean pondering;
+
+	/**
+	 * {@code true} once {@code ponderhit} was received for the move being pondered.
+	 */
+	private boolean hit;
+
+	/**
+	 * {@code true} if the move being searched is searched until {@code stop}.
+	 */
+	private boolean infinite;
+
+	/**
+	 * {@code true} once {@link #time} has been started for the move being searched.
+	 */
+	private boolean timed;
+
+	/**
+	 * The limits of the move being searched, started on {@link #time} when the move starts: {@code movetime},
+	 * the time left and increment of the {@link Player} to move and {@code movestogo}; {@code -1} where not given.
+	 */
+	private final long[] limits;
+
+	/**
+	 * The position being searched, in <i>Forsyth-Edwards Notation</i>, to set up again if the search fails.
+	 */
+	private String searched;
+
+	/**
+	 * Create a {@code Uci} that replies to {@code out}.
+	 *
+	 * @param out is where replies are sent.
+	 *
+	 * @throws NullPointerException if {@code out} is {@code null}.
+	 */
+	public Uci(PrintStream out) throws NullPointerException {
+		this.out		= Objects.requireNonNull(out, "There must be somewhere to reply.");
+		this.board		= new ChessBoard(new Player[] {new Player("White", PieceColor.White), new Player("Black", PieceColor.Black)});
+		this.time		= new TimeManager();
+		this.options	= new SearchOptions();
+		this.table		= new TranspositionTable(16);
+		this.threads	= 1;
+		this.limits		= new long[4];
+		this.ponderMove	= Move.none;
+		this.board.setPosition(ChessBoard.startPosition);
+		this.createSearch();
+	}
+
+	/**
+	 * Create {@link #search} and {@link #ponder} anew, after {@link #table} or {@link #threads} changed.
+	 */
+	private void createSearch() {
+		if (this.search != null) this.search.shutdown();
+		if (this.ponder != null) this.ponder.shutdown();
+		SearchListener listener = new SearchListener() {
+			@Override
+			public void iterationDone(int depth, int score, long nodes, long nanos, int[] pv) {
+				String info = Search.describe(depth, score, nodes, nanos, pv);
+				int index = info.indexOf(" pv");	//The pv must come last
+				Uci.this.send("info " + info.substring(0, index) + " hashfull " + Uci.this.table.getUsage() + info.substring(index));
+			}
+		};
+		this.search = new ParallelSearch(this.board, this.table, this.threads);
+		this.search.setListener(listener);
+		this.ponder = new Ponder(this.table, this.threads);
+		this.ponder.getSearch().setListener(listener);
+	}
+
+	/**
+	 * Get a deadline of the move being searched.
+	 *
+	 * @param soft is {@code true} for the soft deadline, after which no new iteration starts.
+	 *
+	 * @return	the {@link System#nanoTime()} of the deadline of {@link #time}.<br>
+	 * 			{@link Long#MAX_VALUE} if the move has no time limit.
+	 */
+	private long getDeadline(boolean soft) {
+		if (!this.timed) return Long.MAX_VALUE;
+		return soft ? this.time.getSoftDeadline() : this.time.getHardDeadline();
+	}
+
+	/**
+	 * Carry out one command.
+	 *
+	 * @param line is the command.
+	 *
+	 * @return	{@code false} after {@code quit}.<br>
+	 * 			{@code true} otherwise.
+	 */
+	public boolean execute(String line) {
+		String[] tokens = line.trim().split("\\s+");
+		try {
+			switch (tokens[0]) {
+			case "uci":
+				this.send("id name " + name);
+				this.send("id author " + author);
+				this.send("option name Hash type spin default 16 min 1 max " + maxHash);
+				this.send("option name Threads type spin default 1 min 1 max " + maxThreads);
+				this.send("option name Ponder type check default false");
+				this.send("option name Clear Hash type button");
+				this.send("uciok");
+				break;
+			case "isready":
+				this.send("readyok");
+				break;
+			case "ucinewgame":
+				this.stop();
+				this.table.clear();
+				break;
+			case "setoption":
+				this.setOption(tokens);
+				break;
+			case "position":
+				this.position(tokens);
+				break;
+			case "go":
+				this.go(tokens);
+				break;
+			case "stop":
+				this.stop();
+				break;
+			case "ponderhit":
+				this.ponderHit();
+				break;
+			case "quit":
+				this.stop();
+				return false;
+			default:	//Unknown commands are ignored
+			}
+		} catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException e) {
+			this.send("info string " + e.getMessage());
+		} return true;
+	}
+
+	/**
+	 * Start searching for {@code go}.
+	 *
+	 * @param tokens is the command.
+	 *
+	 * @throws IllegalArgumentException if a limit is not a number.
+	 */
+	private void go(String[] tokens) throws IllegalArgumentException {
+		this.stop();
+		int depth = Search.maxDepth;
+		long nodes = 0, moveTime = -1, movesToGo = 0;
+		long[] remaining = {-1, -1}, increment = {0, 0};
+		boolean infinite = false, ponder = false;
+		for (int i = 1; i < tokens.length; i++) {
+			switch (tokens[i]) {
+			case "wtime":
+				remaining[0] = Long.parseLong(tokens[++i]);
+				break;
+			case "btime":
+				remaining[1] = Long.parseLong(tokens[++i]);
+				break;
+			case "winc":
+				increment[0] = Long.parseLong(tokens[++i]);
+				break;
+			case "binc":
+				increment[1] = Long.parseLong(tokens[++i]);
+				break;
+			case "movestogo":
+				movesToGo = Long.parseLong(tokens[++i]);
+				break;
+			case "movetime":
+				moveTime = Long.parseLong(tokens[++i]);
+				break;
+			case "depth":
+				depth = Math.max(1, Math.min(Search.maxDepth, Integer.parseInt(tokens[++i])));
+				break;
+			case "nodes":
+				nodes = Long.parseLong(tokens[++i]);
+				break;
+			case "infinite":
+				infinite = true;
+				break;
+			case "ponder":
+				ponder = true;
+				break;
+			default:	//searchmoves and mate are not supported, and their arguments are skipped
+			}
+		}
+
+		if (ponder && this.ponderMove == Move.none) throw new IllegalArgumentException("There must be a move to ponder.");
+
+		int side = this.board.getCurrentPlayer().getPlayerColor() == PieceColor.White ? 0 : 1;
+		this.limits[0] = moveTime;
+		this.limits[1] = remaining[side];
+		this.limits[2] = increment[side];
+		this.limits[3] = movesToGo;
+		this.options.setNodes(nodes);
+
+		synchronized (this) {
+			this.waiting	= infinite || ponder;
+			this.pondering	= ponder;
+			this.hit		= false;
+			this.infinite	= infinite;
+			this.timed		= false;
+			if (ponder) {	//Timed from ponderhit
+				this.ponder.getSearch().setOptions(this.options);
+				this.ponder.start(this.ponderPosition, this.ponderMove, depth);
+			} else {
+				this.search.setOptions(this.options);
+				this.startClock();
+				this.search.prepare(this.getDeadline(true), this.getDeadline(false));
+			}
+		}
+
+		int limit = depth;
+		boolean pondered = ponder;
+		this.searched = this.board.getPosition();
+		this.thread = new Thread(() -> this.think(limit, pondered), "UCI search");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	public static void main(String[] args) throws IOException {
+		Uci uci = new Uci(System.out);
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+		for (String line = in.readLine(); line != null && uci.execute(line); line = in.readLine());
+		uci.stop();
+	}
+
+	/**
+	 * Stop pondering, and carry on the search within the limits of the {@code go ponder}, timed from now.
+	 */
+	private synchronized void ponderHit() {
+		if (!this.pondering) return;
+		this.pondering	= false;
+		this.hit		= true;
+		this.startClock();
+		this.waiting	= this.infinite;
+		this.notifyAll();
+	}
+
+	/**
+	 * Set up the position of {@code position}.<br>
+	 * If the position or any move is not legal, the position before the command is kept, with none of the moves made.
+	 *
+	 * @param tokens is the command.
+	 *
+	 * @throws IllegalArgumentException if the position or a move is not legal.
+	 * @throws IndexOutOfBoundsException if the command has no position.
+	 */
+	private void position(String[] tokens) throws IllegalArgumentException, IndexOutOfBoundsException {
+		this.stop();
+		String old = this.board.getPosition();
+		try {
+			this.setUp(tokens);
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			this.board.setPosition(old);
+			this.ponderPosition	= null;
+			this.ponderMove		= Move.none;
+			throw e;
+		}
+	}
+
+	/**
+	 * Set up the position of {@code position} on {@link #board}, which is left part way on failure; see {@link #position(String[])}.<br>
+	 * The undo stack is emptied whenever the moves leave less room than a search needs, so a game of any length fits.
+	 *
+	 * @param tokens is the command.
+	 *
+	 * @throws IllegalArgumentException if the position or a move is not legal.
+	 * @throws IndexOutOfBoundsException if the command has no position.
+	 */
+	private void setUp(String[] tokens) throws IllegalArgumentException, IndexOutOfBoundsException {
+		int moves = Arrays.asList(tokens).indexOf("moves");
+		if (moves < 0) moves = tokens.length;
+		switch (tokens[1]) {
+		case "startpos":
+			this.board.setPosition(ChessBoard.startPosition);
+			break;
+		case "fen":
+			this.board.setPosition(String.join(" ", Arrays.copyOfRange(tokens, 2, moves)));
+			break;
+		default:
+			throw new IllegalArgumentException("Illegal position: " + tokens[1]);
+		}
+
+		this.ponderPosition	= null;
+		this.ponderMove		= Move.none;
+		for (int i = moves + 1; i < tokens.length; i++) {
+			if (this.board.getPly() >= ChessBoard.maxPly - Search.maxPly) this.board.setPosition(this.board.getPosition());
+			int move = this.board.parseMove(tokens[i]);
+			if (i == tokens.length - 1) {	//The reply go ponder ponders
+				this.ponderPosition	= this.board.getPosition();
+				this.ponderMove		= move;
+			} this.board.makeMove(move);
+		}
+	}
+
+	/**
+	 * Send {@code line}.
+	 *
+	 * @param line is the reply.
+	 */
+	private void send(String line) {
+		synchronized (this.out) {
+			this.out.println(line);
+			this.out.flush();
+		}
+	}
+
+	/**
+	 * Change an option of {@code setoption}.
+	 *
+	 * @param tokens is the command.
+	 *
+	 * @throws IllegalArgumentException if the option is not known or its value is out of range.
+	 */
+	private void setOption(String[] tokens) throws IllegalArgumentException {
+		int index = Arrays.asList(tokens).indexOf("value");
+		String option = String.join(" ", Arrays.copyOfRange(tokens, 2, index < 0 ? tokens.length : index));
+		String value = index < 0 ? "" : String.join(" ", Arrays.copyOfRange(tokens, index + 1, tokens.length));
+		this.stop();
+		switch (option.toLowerCase()) {
+		case "hash":
+			int megabytes = Integer.parseInt(value);
+			if (megabytes < 1 || megabytes > maxHash) throw new IllegalArgumentException("Illegal Hash: " + value);
+			this.search.shutdown();
+			this.ponder.shutdown();
+			this.search	= null;	//Let the old table go first
+			this.ponder	= null;
+			this.table	= null;
+			this.table	= new TranspositionTable(megabytes);
+			this.createSearch();
+			break;
+		case "threads":
+			int threads = Integer.parseInt(value);
+			if (threads < 1 || threads > maxThreads) throw new IllegalArgumentException("Illegal Threads: " + value);
+			this.threads = threads;
+			this.createSearch();
+			break;
+		case "clear hash":
+			this.table.clear();
+			break;
+		case "ponder":	//Pondering is up to the GUI, which sends go ponder
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown option: " + option);
+		}
+	}
+
+	/**
+	 * Start {@link #time} with the limits of the move, if there are any; see {@link #getDeadline(boolean)}.
+	 */
+	private void startClock() {
+		if (this.limits[0] >= 0)		this.time.start(this.limits[0]);
+		else if (this.limits[1] >= 0)	this.time.start(this.limits[1], this.limits[2], (int)this.limits[3]);
+		this.timed = this.limits[0] >= 0 || this.limits[1] >= 0;
+	}
+
+	/**
+	 * Stop the search, if any, and wait for its {@code bestmove}.
+	 */
+	private void stop() {
+		if (this.thread == null) return;
+		this.search.stop();
+		this.ponder.getSearch().stop();	//After ponderhit, Ponder waits for its search
+		synchronized (this) {
+			this.waiting	= false;
+			this.pondering	= false;
+			this.notifyAll();
+		}
+
+		try {
+			this.thread.join();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		} this.thread = null;
+	}
+
+	/**
+	 * Search, wait for {@code stop} or {@code ponderhit} if need be, and send {@code bestmove}.<br>
+	 * {@code bestmove} is sent even if the search fails, with the first legal move, or {@code 0000} if there is none, so the GUI is never left waiting.
+	 *
+	 * @param depth is the deepest search.
+	 * @param ponder is {@code true} if {@link #ponder} is pondering the move.
+	 */
+	private void think(int depth, boolean ponder) {
+		ParallelSearch search = ponder ? this.ponder.getSearch() : this.search;
+		int move = Move.none;
+		try {
+			move = this.findMove(depth, ponder);
+		} catch (RuntimeException e) {
+			this.send("info string " + e);
+			move = this.recover();
+		} finally {
+			synchronized (this) {
+				while (this.waiting) try {
+					this.wait();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					break;
+				} if (this.timed) this.time.finish();
+			}
+
+			int[] pv = search.getPrincipalVariation();
+			StringBuilder str = new StringBuilder("bestmove ").append(move == Move.none ? "0000" : Move.toString(move));
+			if (move != Move.none && pv.length > 1 && pv[0] == move) str.append(" ponder ").append(Move.toString(pv[1]));
+			this.send(str.toString());
+		}
+	}
+
+	/**
+	 * Set {@link #board} up again at {@link #searched} after the search failed part way through a move.
+	 *
+	 * @return	the first legal {@link Move} of the position, so {@code bestmove} is still legal.<br>
+	 * 			{@link Move#none} if there is none.
+	 */
+	private int recover() {
+		this.board.setPosition(this.searched);
+		MoveList moves = new MoveList();
+		this.board.generateLegal(moves);
+		return moves.size() == 0 ? Move.none : moves.get(0);
+	}
+
+	/**
+	 * Search the move of {@code go}; after {@code go ponder}, wait for {@code ponderhit} or {@code stop} first.
+	 *
+	 * @param depth is the deepest search.
+	 * @param ponder is {@code true} if {@link #ponder} is pondering the move.
+	 *
+	 * @return	the best {@link Move}.<br>
+	 * 			{@link Move#none} if there is none.
+	 */
+	private int findMove(int depth, boolean ponder) {
+		if (ponder) {
+			long softDeadline, deadline;
+			boolean hit;
+			synchronized (this) {
+				while (this.pondering) try {
+					this.wait();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					break;
+				} hit			= this.hit;
+				softDeadline	= this.getDeadline(true);
+				deadline		= this.getDeadline(false);
+			} return hit ? this.ponder.play(this.ponderMove, softDeadline, deadline) : this.ponder.stop();
+		} return this.search.bestMove(depth);
+	}
+}
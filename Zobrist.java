@@ -0,0 +1,104 @@
+/**
+ * The {@code Zobrist} class holds the random numbers that make up the key of a position.
+ * <p>The key of a position is the exclusive or of a number for each {@link Piece} on each square,
+ * a number when {@link PieceColor#Black} is to move, a number for the castling rights
+ * and a number for the column a {@link Pawn} may be captured <i>en passant</i> on.<br>
+ * Making a move changes the key by exclusive or-ing only what the move changes.</p>
+ * <p>The numbers come from a generator with a fixed seed, so every run gives every position the same key.</p>
+ *
+ * @version 28 August 2020
+ * @since 28 August 2020
+ * @author MrPineapple065
+ */
+public final class Zobrist {
+	/**
+	 * A number for each {@link PieceColor}, {@link PieceType} and square, indexed by {@code index << 6 | square}
+	 * where {@code index} is the index of the mask in {@link Bitboard}.
+	 */
+	private static final long[] pieces = new long[12 * 64];
+
+	/**
+	 * A number for each value of {@link ChessBoard#getCastlingRights()}.
+	 */
+	private static final long[] castling = new long[16];
+
+	/**
+	 * A number for each column a {@link Pawn} may be captured <i>en passant</i> on.
+	 */
+	private static final long[] enPassant = new long[8];
+
+	/**
+	 * The number used when {@link PieceColor#Black} is to move.
+	 */
+	public static final long side;
+
+	/**
+	 * The step between seeds of {@link #mix(long)}.
+	 */
+	private static final long gamma = 0x9E3779B97F4A7C15L;
+
+	static {
+		long seed = 0x5EED_C0DE_2020_0828L;
+		for (int i = 0; i < pieces.length; i++) {
+			pieces[i] = mix(seed += gamma);
+		} for (int i = 0; i < castling.length; i++) {
+			castling[i] = mix(seed += gamma);
+		} for (int i = 0; i < enPassant.length; i++) {
+			enPassant[i] = mix(seed += gamma);
+		} side = mix(seed += gamma);
+	}
+
+	/**
+	 * {@code Zobrist} only has static methods.
+	 */
+	private Zobrist() {}
+
+	/**
+	 * Get the number for a set of castling rights.
+	 *
+	 * @param rights are the castling rights, as given by {@link ChessBoard#getCastlingRights()}.
+	 *
+	 * @return the number for {@code rights}.
+	 */
+	public static long castling(int rights) {
+		return castling[rights];
+	}
+
+	/**
+	 * Get the number for a {@link Pawn} that may be captured <i>en passant</i> on {@code column}.
+	 *
+	 * @param column is the column.
+	 *
+	 * @return the number for {@code column}.
+	 */
+	public static long enPassant(int column) {
+		return enPassant[column];
+	}
+
+	/**
+	 * Scramble {@code seed} into a number.<br>
+	 * Together with stepping the seed by {@link #gamma}, this is the <i>SplitMix64</i> generator.
+	 *
+	 * @param seed is the seed.
+	 *
+	 * @return the number.
+	 */
+	private static long mix(long seed) {
+		long z = seed;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Get the number for a {@link Piece} on {@code square}.
+	 *
+	 * @param index is the index of the mask holding the {@code Piece} in {@link Bitboard}.
+	 * @param square is the square.
+	 *
+	 * @return the number for the {@code Piece} on {@code square}.
+	 */
+	public static long piece(int index, int square) {
+		return pieces[index << 6 | square];
+	}
+}